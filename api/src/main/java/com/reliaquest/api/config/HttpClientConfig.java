@@ -1,18 +1,28 @@
 package com.reliaquest.api.config;
 
 import java.net.http.HttpClient;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class HttpClientConfig {
 
+    /*
+     * spring.threads.virtual.enabled also moves Tomcat request handling onto virtual threads, so the same switch
+     * controls both sides of the blocking upstream round trip.
+     */
     @Bean
-    HttpClient httpClient() {
+    HttpClient httpClient(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         return HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_2)
-                .executor(Executors.newFixedThreadPool(10))
+                .executor(httpClientExecutor(virtualThreads))
                 .build();
     }
+
+    private static Executor httpClientExecutor(boolean virtualThreads) {
+        return virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(10);
+    }
 }
@@ -0,0 +1,114 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Serves the {@link IEmployeeController} routes through {@link IAsyncEmployeeController} without holding a servlet
+ * thread while the employee server answers: every handler returns the service's {@link CompletableFuture} and Spring
+ * MVC completes the request asynchronously.
+ */
+@RestController
+@Slf4j
+@ConditionalOnProperty(name = "employee.controller.async", havingValue = "true")
+public class AsyncEmployeeController implements IAsyncEmployeeController<Employee, EmployeeCreationInput> {
+    private final EmployeeService employeeService;
+
+    public AsyncEmployeeController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
+        log.info("Fetching all employees from service.");
+        return employeeService.getAllEmployeesAsync().thenApply(employees -> {
+            log.info("Fetched {} employees.", employees.size());
+            return ResponseEntity.ok(employees);
+        });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString) {
+        log.info("Searching employees with name containing: '{}'", searchString);
+        return employeeService.getEmployeesByNameSearchAsync(searchString).thenApply(employees -> {
+            log.info("Found {} employees matching '{}'", employees.size(), searchString);
+            return ResponseEntity.ok(employees);
+        });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(String id) {
+        log.info("Fetching employee with ID: {}", id);
+        return employeeService.getEmployeeByIdAsync(id).thenApply(employee -> {
+            log.info("Employee fetched successfully: ID {}", id);
+            return ResponseEntity.ok(employee);
+        });
+    }
+
+    /**
+     * Not part of {@link IAsyncEmployeeController}: resolves many ids in one call, see
+     * {@link EmployeeService#lookupEmployeesAsync(List)}.
+     */
+    @PostMapping("/lookup")
+    public CompletableFuture<ResponseEntity<EmployeeLookup>> lookupEmployees(@RequestBody List<String> ids) {
+        log.info("Looking up {} employee IDs", ids.size());
+        return employeeService.lookupEmployeesAsync(ids).thenApply(lookup -> {
+            log.info("Found {} employees, {} IDs not found", lookup.found().size(), lookup.notFound().size());
+            return ResponseEntity.ok(lookup);
+        });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        log.info("Fetching the highest salary among employees.");
+        return employeeService.getHighestSalaryOfEmployeesAsync().thenApply(highestSalary -> {
+            log.info("Highest salary calculated: {}", highestSalary);
+            return ResponseEntity.ok(highestSalary);
+        });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        log.info("Fetching top 10 highest earning employee names.");
+        return employeeService.getTopEmployeesBySalaryAsync(10).thenApply(topEmployees -> {
+            log.info("Top 10 employees fetched successfully.");
+            return ResponseEntity.ok(topEmployees);
+        });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(EmployeeCreationInput employeeInput) {
+        log.info(
+                "Creating new employee: name={}, title={}, salary={}, age={}, email=[PROTECTED]",
+                employeeInput.name(),
+                employeeInput.title(),
+                employeeInput.salary(),
+                employeeInput.age());
+
+        log.debug("Full employee input details: {}", employeeInput);
+        return employeeService.createEmployeeAsync(employeeInput).thenApply(createdEmployee -> {
+            log.info("Employee created successfully with ID: {}", createdEmployee.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
+        });
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(String id) {
+        log.info("Deleting employee with ID: {}", id);
+        return employeeService.deleteEmployeeAsync(id).thenApply(response -> {
+            log.info("Employee deleted successfully with ID: {}", id);
+            return ResponseEntity.ok(response);
+        });
+    }
+}
@@ -2,15 +2,24 @@ package com.reliaquest.api.controller;
 
 import com.reliaquest.api.controller.request.EmployeeCreationInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+/**
+ * Blocking adapter of {@link EmployeeService} onto the {@link IEmployeeController} contract. Replaced by
+ * {@link AsyncEmployeeController} when {@code employee.controller.async} is enabled.
+ */
 @RestController
 @Slf4j
+@ConditionalOnProperty(name = "employee.controller.async", havingValue = "false", matchIfMissing = true)
 public class EmployeeController implements IEmployeeController<Employee, EmployeeCreationInput> {
     private final EmployeeService employeeService;
 
@@ -42,6 +51,18 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return ResponseEntity.ok(employee);
     }
 
+    /**
+     * Not part of {@link IEmployeeController}: resolves many ids in one call, see
+     * {@link EmployeeService#lookupEmployeesAsync(List)}.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<EmployeeLookup> lookupEmployees(@RequestBody List<String> ids) {
+        log.info("Looking up {} employee IDs", ids.size());
+        EmployeeLookup lookup = employeeService.lookupEmployees(ids);
+        log.info("Found {} employees, {} IDs not found", lookup.found().size(), lookup.notFound().size());
+        return ResponseEntity.ok(lookup);
+    }
+
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         log.info("Fetching the highest salary among employees.");
@@ -1,8 +1,10 @@
 package com.reliaquest.api.controller;
 
 import com.reliaquest.api.exception.APIException;
+import java.util.Objects;
 import java.util.concurrent.CompletionException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,8 +26,11 @@ public class EmployeeControllerAdvice {
 
     @ExceptionHandler(CompletionException.class)
     protected ResponseEntity<?> handleCompletionException(CompletionException ex) {
-        log.error("Error handling API request: ", ex);
-        return ResponseEntity.status(((APIException) ex.getCause()).statusCode)
-                .body(ex.getCause().getMessage());
+        Throwable cause = Objects.isNull(ex.getCause()) ? ex : ex.getCause();
+        log.error("Error handling API request: ", cause);
+        int statusCode = cause instanceof APIException apiException
+                ? apiException.statusCode
+                : HttpStatus.INTERNAL_SERVER_ERROR.value();
+        return ResponseEntity.status(statusCode).body(cause.getMessage());
     }
 }
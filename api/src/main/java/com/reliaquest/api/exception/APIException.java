@@ -1,10 +1,18 @@
 package com.reliaquest.api.exception;
 
+import java.time.Duration;
+
 public class APIException extends RuntimeException {
     public int statusCode;
+    public Duration retryAfter;
 
     public APIException(int statusCode, String message) {
+        this(statusCode, message, Duration.ZERO);
+    }
+
+    public APIException(int statusCode, String message, Duration retryAfter) {
         super(message);
         this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
     }
 }
@@ -0,0 +1,9 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * Result of looking up many employee ids at once: the employees found, in the order their ids were first requested,
+ * and the requested ids without an employee.
+ */
+public record EmployeeLookup(List<Employee> found, List<String> notFound) {}
@@ -0,0 +1,10 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Outcome of one item of a batch request to the employee server: {@code data} if the item was applied, otherwise the
+ * {@code error} it was rejected with. {@code index} is the item's position in the request.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record BatchResult<T>(int index, T data, String error) {}
@@ -0,0 +1,117 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops calling the employee server after a run of consecutive 429, 5xx or connection failures. While open, calls
+ * fail fast with a 503 carrying the remaining open time as {@link APIException#retryAfter}, and the roster cache keeps
+ * serving its last good snapshot. Once the open duration has passed a single trial call is let through: success closes
+ * the breaker, failure opens it again.
+ */
+@Component
+@Slf4j
+class CircuitBreaker {
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final Counter opened;
+    private final Counter rejected;
+
+    // guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(
+            @Value("${employee.client.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${employee.client.circuit-breaker.open-duration:30s}") Duration openDuration,
+            MeterRegistry meterRegistry) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.opened = Counter.builder("employee.client.circuit_breaker.opened")
+                .description("Times the employee server circuit breaker opened")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("employee.client.circuit_breaker.rejected")
+                .description("Calls failed fast because the employee server circuit breaker was open")
+                .register(meterRegistry);
+        Gauge.builder("employee.client.circuit_breaker.state", this, breaker -> breaker.state().ordinal())
+                .description("Employee server circuit breaker state: 0 closed, 1 open, 2 half open")
+                .register(meterRegistry);
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                rejected.increment();
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                rejected.increment();
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized APIException rejection() {
+        long remainingNanos = state == State.OPEN ? openedAtNanos + openDurationNanos - System.nanoTime() : 0;
+        return new APIException(
+                SERVICE_UNAVAILABLE,
+                "Employee server unavailable, circuit breaker is open",
+                Duration.ofNanos(Math.max(0, remainingNanos)));
+    }
+
+    synchronized void onSuccess() {
+        trialInFlight = false;
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAtNanos = System.nanoTime();
+            opened.increment();
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * Releases a half-open trial that never reached the server, e.g. because the request scheduler rejected it.
+     */
+    synchronized void onSkipped() {
+        trialInFlight = false;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    // must hold this
+    private void transition(State next) {
+        log.info("Employee server circuit breaker {} -> {}", state, next);
+        state = next;
+    }
+}
@@ -2,72 +2,234 @@ package com.reliaquest.api.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Client for the employee server. GETs negotiate gzip, and GETs of the full roster and its salary aggregates are
+ * revalidated: the last ETag and decoded value are kept per URI and target type, a repeated GET sends
+ * {@code If-None-Match}, and a 304 answers with the value decoded before.
+ */
 @Component
+@Slf4j
 class EmployeeAPIClient {
+    private static final TypeReference<Boolean> booleanTypeReference = new TypeReference<>() {};
+    private static final int MAX_VALIDATED_RESPONSES = 128;
+
     private final HttpClient httpClient;
     private final String baseUrl;
     private final ObjectMapper objectMapper;
+    private final EnvelopeReader envelopeReader;
+    private final RequestScheduler requestScheduler;
+    private final ConcurrentMap<String, CompletableFuture<?>> inFlightGets = new ConcurrentHashMap<>();
+    private final RetryPolicies retryPolicies;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Counter coalescedGets;
+    private final Counter notModified;
+    private final Counter modified;
+
+    // least recently used first
+    private final Map<String, Versioned<?>> validated =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Versioned<?>> eldest) {
+                    return size() > MAX_VALIDATED_RESPONSES;
+                }
+            });
 
     public EmployeeAPIClient(
             HttpClient httpClient,
             @Value("${urls.employee_server_base_url}") String baseUrl,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            RequestScheduler requestScheduler,
+            RetryPolicies retryPolicies,
+            CircuitBreaker circuitBreaker,
+            MeterRegistry meterRegistry) {
         this.httpClient = httpClient;
         this.baseUrl = baseUrl;
         this.objectMapper = objectMapper;
+        this.envelopeReader = new EnvelopeReader(objectMapper);
+        this.requestScheduler = requestScheduler;
+        this.retryPolicies = retryPolicies;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.coalescedGets = Counter.builder("employee.client.get.coalesced")
+                .description("GET requests that joined an identical in-flight request instead of sending their own")
+                .register(meterRegistry);
+        this.notModified = revalidationCounter(meterRegistry, "not_modified");
+        this.modified = revalidationCounter(meterRegistry, "modified");
+        Gauge.builder("employee.client.get.inflight", inFlightGets, ConcurrentMap::size)
+                .description("Distinct GET requests currently in flight")
+                .register(meterRegistry);
     }
 
+    /**
+     * Concurrent GETs for the same URI and target type share a single upstream request; every caller receives its own
+     * copy of the shared future so that completing or cancelling it does not affect the other waiters.
+     */
     public <T> CompletableFuture<T> get(String uri, TypeReference<T> typeReference) {
-        HttpRequest request =
-                HttpRequest.newBuilder(URI.create(baseUrl + uri)).GET().build();
-        return httpClient
-                .sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApplyAsync(response -> {
-                    if (response.statusCode() != 200) {
-                        throw new APIException(response.statusCode(), response.body());
-                    }
-                    String body = response.body();
-                    try {
-                        JsonNode responseString = objectMapper.readValue(body, JsonNode.class);
-                        return objectMapper.readValue(responseString.get("data").toString(), typeReference);
-                    } catch (JsonProcessingException e) {
-                        throw new RuntimeException(e);
+        return get(uri, typeReference, RequestScheduler.Priority.INTERACTIVE);
+    }
+
+    public <T> CompletableFuture<T> get(
+            String uri, TypeReference<T> typeReference, RequestScheduler.Priority priority) {
+        return getVersioned(uri, typeReference, priority).thenApply(Versioned::value);
+    }
+
+    /**
+     * Like {@link #get(String, TypeReference, RequestScheduler.Priority)}, but also returns the roster version the
+     * employee server reported with the response.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<Versioned<T>> getVersioned(
+            String uri, TypeReference<T> typeReference, RequestScheduler.Priority priority) {
+        String key = uri + " " + typeReference.getType().getTypeName();
+        CompletableFuture<Versioned<T>> created = new CompletableFuture<>();
+        CompletableFuture<Versioned<T>> shared =
+                (CompletableFuture<Versioned<T>>) inFlightGets.putIfAbsent(key, created);
+        if (Objects.nonNull(shared)) {
+            coalescedGets.increment();
+            return shared.copy();
+        }
+
+        try {
+            send(key, uri, typeReference, priority).whenComplete((result, ex) -> {
+                inFlightGets.remove(key, created);
+                if (Objects.isNull(ex)) {
+                    created.complete(result);
+                } else {
+                    created.completeExceptionally(ex);
+                }
+            });
+        } catch (RuntimeException ex) {
+            inFlightGets.remove(key, created);
+            throw ex;
+        }
+        return created.copy();
+    }
+
+    /**
+     * Walks a cursor-paginated listing page by page; see {@link PageIterator}.
+     */
+    public <T> PageIterator<T> iterate(
+            String uri, TypeReference<List<T>> pageType, int pageSize, RequestScheduler.Priority priority) {
+        return new PageIterator<>(cursor -> {
+            String pageUri = uri + "?limit=" + pageSize;
+            if (Objects.nonNull(cursor)) {
+                pageUri += "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+            }
+            return getVersioned(pageUri, pageType, priority).join();
+        });
+    }
+
+    /**
+     * Reads a newline-delimited JSON listing and hands every record to {@code consumer} as soon as it is decoded, so
+     * that no list of all records is ever built. Completes with the number of records consumed. Streams are not
+     * retried, since the consumer may already have seen part of the listing.
+     */
+    public <T> CompletableFuture<Long> stream(
+            String uri,
+            TypeReference<T> typeReference,
+            Consumer<? super T> consumer,
+            RequestScheduler.Priority priority) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + uri))
+                .header("Accept", "application/x-ndjson")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return dispatch(request, priority).thenApplyAsync(response -> {
+            try (InputStream body = body(response)) {
+                if (response.statusCode() != 200) {
+                    throw failure(response, body);
+                }
+                long count = 0;
+                try (MappingIterator<T> records = envelopeReader.readerFor(typeReference).readValues(body)) {
+                    while (records.hasNextValue()) {
+                        consumer.accept(records.nextValue());
+                        count++;
                     }
-                });
+                }
+                return count;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<Versioned<T>> send(
+            String key, String uri, TypeReference<T> typeReference, RequestScheduler.Priority priority) {
+        boolean revalidated = revalidated(uri);
+        Versioned<T> cached = revalidated ? (Versioned<T>) validated.get(key) : null;
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + uri))
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (Objects.nonNull(cached)) {
+            request.header("If-None-Match", cached.eTag());
+        }
+
+        return exchange(request.build(), typeReference, priority, cached).thenApply(result -> {
+            if (Objects.nonNull(cached)) {
+                (result == cached ? notModified : modified).increment();
+            }
+            if (revalidated && Objects.nonNull(result.eTag())) {
+                validated.put(key, result);
+            } else if (Objects.nonNull(cached)) {
+                validated.remove(key, cached);
+            }
+            return result;
+        });
+    }
+
+    /*
+     * Whether to keep the response to revalidate it later. Only the unpaginated roster and its aggregates are kept:
+     * there are a handful of them, and they are what every caller asks for again. Roster pages and single employees
+     * would crowd them out, and any write changes their ETags anyway, so they would seldom be answered with a 304.
+     */
+    private static boolean revalidated(String uri) {
+        return uri.equals(RosterCache.ROSTER_URI)
+                || uri.equals(EmployeeService.SALARY_STATISTICS_URI)
+                || uri.startsWith(EmployeeService.TOP_EARNERS_URI);
     }
 
     public <T> CompletableFuture<T> post(String uri, Object body, TypeReference<T> typeReference) {
         try {
             HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + uri))
-                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
                     .header("Content-Type", "application/json")
                     .build();
 
-            return httpClient
-                    .sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenApplyAsync(response -> {
-                        if (response.statusCode() != 200) {
-                            throw new APIException(response.statusCode(), response.body());
-                        }
-                        try {
-                            JsonNode responseString = objectMapper.readValue(response.body(), JsonNode.class);
-                            return objectMapper.readValue(
-                                    responseString.get("data").toString(), typeReference);
-                        } catch (JsonProcessingException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
+            return exchange(request, typeReference, RequestScheduler.Priority.INTERACTIVE, null)
+                    .thenApply(Versioned::value);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -76,25 +238,216 @@ class EmployeeAPIClient {
     public CompletableFuture<Boolean> delete(String uri, Object body) {
         try {
             HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + uri))
-                    .method("DELETE", HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .method("DELETE", HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
                     .header("Content-Type", "application/json")
                     .build();
 
-            return httpClient
-                    .sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenApplyAsync(response -> {
-                        if (response.statusCode() != 200) {
-                            throw new APIException(response.statusCode(), response.body());
-                        }
-                        try {
-                            JsonNode responseString = objectMapper.readValue(response.body(), JsonNode.class);
-                            return responseString.get("data").asBoolean();
-                        } catch (JsonProcessingException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
+            return exchange(request, booleanTypeReference, RequestScheduler.Priority.INTERACTIVE, null)
+                    .thenApply(response -> Boolean.TRUE.equals(response.value()));
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Deletes the resource at {@code uri}, which identifies it on its own, and returns the response data.
+     */
+    public <T> CompletableFuture<T> delete(String uri, TypeReference<T> typeReference) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + uri))
+                .DELETE()
+                .build();
+
+        return exchange(request, typeReference, RequestScheduler.Priority.INTERACTIVE, null)
+                .thenApply(Versioned::value);
+    }
+
+    /**
+     * Sends the request through the circuit breaker and the request scheduler, retrying failed attempts according to
+     * the {@link RetryPolicy} of the request's method. A 304 completes with {@code cached}, the response the request
+     * was made conditional on.
+     */
+    private <T> CompletableFuture<Versioned<T>> exchange(
+            HttpRequest request,
+            TypeReference<T> typeReference,
+            RequestScheduler.Priority priority,
+            Versioned<T> cached) {
+        CompletableFuture<Versioned<T>> result = new CompletableFuture<>();
+        attempt(request, typeReference, priority, cached, 1, 0, result);
+        return result;
+    }
+
+    private <T> void attempt(
+            HttpRequest request,
+            TypeReference<T> typeReference,
+            RequestScheduler.Priority priority,
+            Versioned<T> cached,
+            int attempt,
+            long previousDelayNanos,
+            CompletableFuture<Versioned<T>> result) {
+        exchangeOnce(request, typeReference, priority, cached).whenComplete((value, ex) -> {
+            if (Objects.isNull(ex)) {
+                result.complete(value);
+                return;
+            }
+
+            long delayNanos =
+                    retryPolicies.forMethod(request.method()).delayBeforeRetryNanos(attempt, previousDelayNanos, ex);
+            if (delayNanos == RetryPolicy.NO_RETRY) {
+                result.completeExceptionally(ex);
+                return;
+            }
+
+            retryCounter(request.method()).increment();
+            log.debug(
+                    "Retrying {} {} in {} ms after attempt {} failed: {}",
+                    request.method(),
+                    request.uri().getPath(),
+                    TimeUnit.NANOSECONDS.toMillis(delayNanos),
+                    attempt,
+                    ex.getMessage());
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+                    .execute(() -> attempt(request, typeReference, priority, cached, attempt + 1, delayNanos, result));
+        });
+    }
+
+    private <T> CompletableFuture<Versioned<T>> exchangeOnce(
+            HttpRequest request,
+            TypeReference<T> typeReference,
+            RequestScheduler.Priority priority,
+            Versioned<T> cached) {
+        return dispatch(request, priority).thenApplyAsync(response -> {
+            try (InputStream body = body(response)) {
+                if (response.statusCode() == 304 && Objects.nonNull(cached)) {
+                    return cached;
+                }
+                if (response.statusCode() != 200) {
+                    throw failure(response, body);
+                }
+                return new Versioned<>(
+                        envelopeReader.readData(body, typeReference),
+                        rosterVersion(response),
+                        response.headers().firstValue(Versioned.ROSTER_INSTANCE_HEADER).orElse(null),
+                        response.headers()
+                                .firstValue(Versioned.NEXT_CURSOR_HEADER)
+                                .orElse(null),
+                        response.headers().firstValue("ETag").orElse(null));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private CompletableFuture<HttpResponse<InputStream>> dispatch(
+            HttpRequest request, RequestScheduler.Priority priority) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(circuitBreaker.rejection());
+        }
+
+        return requestScheduler
+                .submit(priority, () -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()))
+                .whenComplete(this::recordOutcome);
+    }
+
+    /*
+     * The response body as sent, counted towards the bytes received, and gunzipped if the server compressed it.
+     */
+    private InputStream body(HttpResponse<InputStream> response) throws IOException {
+        boolean gzip = response.headers()
+                .firstValue("Content-Encoding")
+                .map(encoding -> encoding.trim().equalsIgnoreCase("gzip"))
+                .orElse(false);
+        InputStream body = new CountingInputStream(response.body(), bytesReceivedCounter(gzip ? "gzip" : "identity"));
+        return gzip ? new GZIPInputStream(body) : body;
+    }
+
+    private static APIException failure(HttpResponse<?> response, InputStream body) throws IOException {
+        return new APIException(
+                response.statusCode(),
+                new String(body.readAllBytes(), StandardCharsets.UTF_8),
+                Duration.ofNanos(RequestScheduler.retryAfterNanos(response)));
+    }
+
+    private void recordOutcome(HttpResponse<?> response, Throwable ex) {
+        if (Objects.nonNull(response)) {
+            if (response.statusCode() == 429 || response.statusCode() >= 500) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+        } else if (ex instanceof APIException || ex.getCause() instanceof APIException) {
+            circuitBreaker.onSkipped();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private static Long rosterVersion(HttpResponse<?> response) {
+        return response.headers()
+                .firstValue(Versioned.ROSTER_VERSION_HEADER)
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value.trim());
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                })
+                .orElse(null);
+    }
+
+    private Counter bytesReceivedCounter(String encoding) {
+        return Counter.builder("employee.client.bytes.received")
+                .description("Response body bytes received from the employee server, before decompression")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .register(meterRegistry);
+    }
+
+    private static Counter revalidationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.client.revalidations")
+                .description("Conditional GETs by whether the server reported the cached response as not modified")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter retryCounter(String method) {
+        return Counter.builder("employee.client.retries")
+                .description("Requests to the employee server retried after a failed attempt")
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final Counter bytes;
+        private long count;
+
+        private CountingInputStream(InputStream in, Counter bytes) {
+            super(in);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            bytes.increment(count);
+            count = 0;
+            super.close();
+        }
+    }
 }
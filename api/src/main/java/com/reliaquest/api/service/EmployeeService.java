@@ -1,91 +1,398 @@
 package com.reliaquest.api.service;
 
-import static com.reliaquest.api.utils.StringUtils.containsString;
-
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.reliaquest.api.controller.request.DeleteEmployeeInput;
 import com.reliaquest.api.controller.request.EmployeeCreationInput;
 import com.reliaquest.api.exception.APIException;
 import com.reliaquest.api.model.Employee;
-import java.util.Comparator;
+import com.reliaquest.api.model.EmployeeLookup;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * The {@code *Async} methods never block the calling thread. The plain variants wait for them, rethrowing upstream
+ * {@link APIException}s unwrapped, and back the blocking {@link com.reliaquest.api.controller.IEmployeeController}.
+ */
 @Component
 @Slf4j
 public class EmployeeService {
     private final EmployeeAPIClient employeeApiClient;
-    private static final TypeReference<List<Employee>> employeeListTypeReference = new TypeReference<>() {};
+    private final RosterCache rosterCache;
+    private final EmployeeWriteBatcher employeeWriteBatcher;
+    private final int lookupChunkSize;
+    private final int maxLookupIds;
     private static final TypeReference<Employee> employeeTypeReference = new TypeReference<>() {};
+    private static final TypeReference<List<Employee>> employeeListTypeReference = new TypeReference<>() {};
+    private static final TypeReference<SalaryStatistics> salaryStatisticsTypeReference = new TypeReference<>() {};
+    private static final TypeReference<EmployeeLookup> employeeLookupTypeReference = new TypeReference<>() {};
+    private static final String EMPLOYEE_URI = "/api/v1/employee";
+    private static final String LOOKUP_URI = "/api/v1/employee/lookup";
+    private static final String EXPORT_URI = "/api/v1/employee/export";
+    static final String SALARY_STATISTICS_URI = "/api/v1/employee/salary/statistics";
+    static final String TOP_EARNERS_URI = "/api/v1/employee/salary/top?limit=";
+    private static final int MAX_TOP_EARNERS_FROM_SERVER = 100;
 
-    public EmployeeService(EmployeeAPIClient employeeApiClient) {
+    private volatile boolean salaryEndpointsAvailable = true;
+    private volatile boolean deleteByIdAvailable = true;
+    private volatile boolean lookupEndpointAvailable = true;
+
+    public EmployeeService(
+            EmployeeAPIClient employeeApiClient,
+            RosterCache rosterCache,
+            EmployeeWriteBatcher employeeWriteBatcher,
+            @Value("${employee.lookup.chunk-size:500}") int lookupChunkSize,
+            @Value("${employee.lookup.max-ids:10000}") int maxLookupIds) {
         this.employeeApiClient = employeeApiClient;
+        this.rosterCache = rosterCache;
+        this.employeeWriteBatcher = employeeWriteBatcher;
+        this.lookupChunkSize = lookupChunkSize;
+        this.maxLookupIds = maxLookupIds;
     }
 
     public List<Employee> getAllEmployees() {
-        return employeeApiClient
-                .get("/api/v1/employee", employeeListTypeReference)
-                .join();
+        return await(getAllEmployeesAsync());
+    }
+
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync() {
+        return rosterCache.getAsync().thenApply(RosterSnapshot::employees);
     }
 
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        List<Employee> employees = getAllEmployees();
-        log.debug("Searching for input string: {} in {} employees", searchString, employees.size());
-        return employees.stream()
-                .filter(e -> containsString(e.getName(), searchString))
-                .toList();
+        return await(getEmployeesByNameSearchAsync(searchString));
+    }
+
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearchAsync(String searchString) {
+        return rosterCache.getAsync().thenApply(roster -> {
+            log.debug(
+                    "Searching for input string: {} in {} employees",
+                    searchString,
+                    roster.employees().size());
+            return roster.nameIndex().search(searchString);
+        });
     }
 
     public Integer getHighestSalaryOfEmployees() {
-        List<Employee> allEmployees = getAllEmployees();
-        log.debug("Get highest salary of employee out of {} employees", allEmployees.size());
+        return await(getHighestSalaryOfEmployeesAsync());
+    }
+
+    /**
+     * Answered from the cached roster while it is fresh, otherwise from the salary statistics the employee server
+     * maintains, a few bytes instead of the roster. Servers without that endpoint are asked for the roster instead;
+     * with a cold cache its salaries are folded from the NDJSON export as the records arrive, rather than decoding and
+     * indexing the whole roster for a single number.
+     */
+    public CompletableFuture<Integer> getHighestSalaryOfEmployeesAsync() {
+        if (rosterCache.hasFreshSnapshot() || !salaryEndpointsAvailable) {
+            return getHighestSalaryFromRosterAsync();
+        }
+
+        return withRosterFallback(
+                employeeApiClient
+                        .get(SALARY_STATISTICS_URI, salaryStatisticsTypeReference)
+                        .thenApply(statistics -> Objects.isNull(statistics.max()) ? 0 : statistics.max()),
+                this::getHighestSalaryFromRosterAsync);
+    }
+
+    private CompletableFuture<Integer> getHighestSalaryFromRosterAsync() {
+        if (!rosterCache.hasSnapshot()) {
+            return getHighestSalaryFromExportAsync();
+        }
 
-        return allEmployees.stream().mapToInt(Employee::getSalary).max().orElse(0);
+        return rosterCache.getAsync().thenApply(roster -> {
+            log.debug(
+                    "Get highest salary of employee out of {} employees",
+                    roster.employees().size());
+
+            return roster.salaryRanking().highestSalary();
+        });
+    }
+
+    private CompletableFuture<Integer> getHighestSalaryFromExportAsync() {
+        AtomicInteger highestSalary = new AtomicInteger();
+        return employeeApiClient
+                .stream(
+                        EXPORT_URI,
+                        employeeTypeReference,
+                        employee -> {
+                            if (Objects.nonNull(employee.getSalary())) {
+                                highestSalary.accumulateAndGet(employee.getSalary(), Math::max);
+                            }
+                        },
+                        RequestScheduler.Priority.BULK)
+                .thenApply(count -> {
+                    log.debug("Get highest salary of employee out of {} streamed employees", count);
+                    return highestSalary.get();
+                });
     }
 
     public Employee getEmployeeById(String id) {
+        return await(getEmployeeByIdAsync(id));
+    }
+
+    public CompletableFuture<Employee> getEmployeeByIdAsync(String id) {
         log.debug("Getting employee for ID: {}", id);
 
-        return employeeApiClient
-                .get("/api/v1/employee/" + id, employeeTypeReference)
-                .join();
+        return employeeApiClient.get("/api/v1/employee/" + id, employeeTypeReference);
     }
 
-    public List<String> getTopEmployeesBySalary(Integer limit) {
-        List<Employee> allEmployees = getAllEmployees();
-        log.debug("Returning top {} earning employees out of {} employees", limit, allEmployees.size());
+    public EmployeeLookup lookupEmployees(List<String> ids) {
+        return await(lookupEmployeesAsync(ids));
+    }
 
-        return allEmployees.stream()
-                .sorted(Comparator.comparing(Employee::getSalary).reversed())
-                .limit(limit)
-                .map(Employee::getName)
+    /**
+     * Looks up many ids with the employee server's lookup endpoint, each distinct id once and in chunks of at most the
+     * configured size, sent concurrently. Ids that are not UUIDs are reported as not found without asking. Servers
+     * without the endpoint (404 or 405) are not asked again; the ids are then resolved from the roster. More ids than
+     * the configured maximum are rejected with a 400, which also bounds the chunks in flight for one lookup.
+     */
+    public CompletableFuture<EmployeeLookup> lookupEmployeesAsync(List<String> ids) {
+        if (ids.size() > maxLookupIds) {
+            return CompletableFuture.failedFuture(
+                    new APIException(400, "At most %d employee IDs can be looked up at once".formatted(maxLookupIds)));
+        }
+        List<String> distinct = ids.stream()
+                .filter(Objects::nonNull)
+                .map(EmployeeService::canonical)
+                .distinct()
                 .toList();
+        log.debug("Looking up {} distinct of {} employee IDs", distinct.size(), ids.size());
+        List<UUID> uuids = new ArrayList<>(distinct.size());
+        for (String id : distinct) {
+            try {
+                uuids.add(UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                log.debug("Not looking up malformed employee ID: {}", id);
+            }
+        }
+        if (uuids.isEmpty()) {
+            return CompletableFuture.completedFuture(new EmployeeLookup(List.of(), distinct));
+        }
+        if (!lookupEndpointAvailable) {
+            return lookupEmployeesInRosterAsync(distinct);
+        }
+
+        List<CompletableFuture<EmployeeLookup>> chunks = new ArrayList<>();
+        for (int from = 0; from < uuids.size(); from += lookupChunkSize) {
+            chunks.add(employeeApiClient.post(
+                    LOOKUP_URI,
+                    uuids.subList(from, Math.min(from + lookupChunkSize, uuids.size())),
+                    employeeLookupTypeReference));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, Employee> found = new HashMap<>();
+                    for (CompletableFuture<EmployeeLookup> chunk : chunks) {
+                        chunk.join().found().forEach(employee -> found.put(String.valueOf(employee.getId()), employee));
+                    }
+                    return lookup(distinct, found);
+                })
+                .exceptionallyCompose(ex -> {
+                    Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                    if (cause instanceof APIException apiException
+                            && (apiException.statusCode == 404 || apiException.statusCode == 405)) {
+                        log.info("Employee server cannot look up employees by ID, using the roster instead");
+                        lookupEndpointAvailable = false;
+                        return lookupEmployeesInRosterAsync(distinct);
+                    }
+                    return CompletableFuture.failedFuture(ex);
+                });
+    }
+
+    private CompletableFuture<EmployeeLookup> lookupEmployeesInRosterAsync(List<String> distinct) {
+        return rosterCache.getAsync().thenApply(roster -> {
+            Set<String> wanted = new HashSet<>(distinct);
+            Map<String, Employee> found = new HashMap<>();
+            for (Employee employee : roster.employees()) {
+                String id = String.valueOf(employee.getId());
+                if (wanted.contains(id)) {
+                    found.putIfAbsent(id, employee);
+                }
+            }
+            return lookup(distinct, found);
+        });
+    }
+
+    private static EmployeeLookup lookup(List<String> distinct, Map<String, Employee> found) {
+        List<Employee> employees = new ArrayList<>(found.size());
+        List<String> notFound = new ArrayList<>();
+        for (String id : distinct) {
+            Employee employee = found.get(id);
+            if (Objects.isNull(employee)) {
+                notFound.add(id);
+            } else {
+                employees.add(employee);
+            }
+        }
+        return new EmployeeLookup(employees, notFound);
+    }
+
+    // the UUID's own string form, so that ids differing only in the case of their hex digits are one id
+    private static String canonical(String id) {
+        try {
+            return UUID.fromString(id).toString();
+        } catch (IllegalArgumentException e) {
+            return id;
+        }
+    }
+
+    public List<String> getTopEmployeesBySalary(Integer limit) {
+        return await(getTopEmployeesBySalaryAsync(limit));
+    }
+
+    /**
+     * Like {@link #getHighestSalaryOfEmployeesAsync()}, the employee server's top earners are used unless the cached
+     * roster is fresh.
+     */
+    public CompletableFuture<List<String>> getTopEmployeesBySalaryAsync(Integer limit) {
+        if (rosterCache.hasFreshSnapshot()
+                || !salaryEndpointsAvailable
+                || limit < 1
+                || limit > MAX_TOP_EARNERS_FROM_SERVER) {
+            return getTopEmployeesBySalaryFromRosterAsync(limit);
+        }
+
+        return withRosterFallback(
+                employeeApiClient
+                        .get(TOP_EARNERS_URI + limit, employeeListTypeReference)
+                        .thenApply(employees -> employees.stream()
+                                .map(Employee::getName)
+                                .toList()),
+                () -> getTopEmployeesBySalaryFromRosterAsync(limit));
+    }
+
+    private CompletableFuture<List<String>> getTopEmployeesBySalaryFromRosterAsync(Integer limit) {
+        return rosterCache.getAsync().thenApply(roster -> {
+            log.debug(
+                    "Returning top {} earning employees out of {} employees",
+                    limit,
+                    roster.employees().size());
+
+            return roster.salaryRanking().top(limit, SalaryRanking.Order.HIGHEST).stream()
+                    .map(Employee::getName)
+                    .toList();
+        });
     }
 
     public Employee createEmployee(EmployeeCreationInput input) {
-        return employeeApiClient
-                .post("/api/v1/employee", input, employeeTypeReference)
-                .join();
+        return await(createEmployeeAsync(input));
+    }
+
+    /**
+     * Concurrent creates are coalesced into batch requests by the {@link EmployeeWriteBatcher}.
+     */
+    public CompletableFuture<Employee> createEmployeeAsync(EmployeeCreationInput input) {
+        return employeeWriteBatcher
+                .create(input)
+                .thenApply(employee -> {
+                    rosterCache.invalidate();
+                    return employee;
+                });
     }
 
     public String deleteEmployee(String id) {
+        return await(deleteEmployeeAsync(id));
+    }
+
+    /**
+     * Deletes by id in a single request. Servers without {@code DELETE /{id}} answer 405 and are not asked again;
+     * for them the employee is looked up first and deleted by name.
+     */
+    public CompletableFuture<String> deleteEmployeeAsync(String id) {
         log.debug("Deleting employee with ID: {}", id);
-        Employee employee = getEmployeeById(id);
-
-        boolean isDeleted = Objects.nonNull(employee)
-                ? employeeApiClient
-                        .delete("/api/v1/employee", new DeleteEmployeeInput(employee.getName()))
-                        .join()
-                : false;
-
-        if (isDeleted) {
-            log.debug("Employee deleted with ID: {}", employee.getId());
-            return employee.getName();
-        } else {
-            log.error("Delete Employee: Employee not found with ID: {}", id);
-            throw new APIException(400, "Employee not found with ID %s".formatted(id));
+        if (!deleteByIdAvailable) {
+            return deleteEmployeeByNameAsync(id);
+        }
+
+        return employeeApiClient
+                .delete(EMPLOYEE_URI + "/" + id, employeeTypeReference)
+                .thenApply(employee -> {
+                    rosterCache.invalidate();
+                    log.debug("Employee deleted with ID: {}", id);
+                    return employee.getName();
+                })
+                .exceptionallyCompose(ex -> {
+                    Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                    if (!(cause instanceof APIException apiException)) {
+                        return CompletableFuture.failedFuture(ex);
+                    }
+                    if (apiException.statusCode == 404) {
+                        log.error("Delete Employee: Employee not found with ID: {}", id);
+                        return CompletableFuture.failedFuture(notFound(id));
+                    }
+                    if (apiException.statusCode == 405) {
+                        log.info("Employee server cannot delete by id, deleting by name instead");
+                        deleteByIdAvailable = false;
+                        return deleteEmployeeByNameAsync(id);
+                    }
+                    return CompletableFuture.failedFuture(ex);
+                });
+    }
+
+    private CompletableFuture<String> deleteEmployeeByNameAsync(String id) {
+        return getEmployeeByIdAsync(id).thenCompose(employee -> {
+            CompletableFuture<Boolean> isDeleted = Objects.nonNull(employee)
+                    ? employeeApiClient.delete(EMPLOYEE_URI, new DeleteEmployeeInput(employee.getName()))
+                    : CompletableFuture.completedFuture(false);
+
+            return isDeleted.thenApply(deleted -> {
+                if (deleted) {
+                    rosterCache.invalidate();
+                    log.debug("Employee deleted with ID: {}", employee.getId());
+                    return employee.getName();
+                } else {
+                    log.error("Delete Employee: Employee not found with ID: {}", id);
+                    throw notFound(id);
+                }
+            });
+        });
+    }
+
+    private static APIException notFound(String id) {
+        return new APIException(400, "Employee not found with ID %s".formatted(id));
+    }
+
+    /*
+     * A server without the salary endpoints answers 404 and is not asked again. Any other failure falls back to the
+     * roster only if a snapshot is cached, as a stale answer beats an error; otherwise it is propagated.
+     */
+    private <T> CompletableFuture<T> withRosterFallback(
+            CompletableFuture<T> fromServer, Supplier<CompletableFuture<T>> fromRoster) {
+        return fromServer.exceptionallyCompose(ex -> {
+            Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+            if (cause instanceof APIException apiException && apiException.statusCode == 404) {
+                log.info("Employee server does not provide salary statistics, using the roster instead");
+                salaryEndpointsAvailable = false;
+                return fromRoster.get();
+            }
+            if (rosterCache.hasSnapshot()) {
+                log.debug("Salary statistics request failed, using the cached roster: {}", cause.getMessage());
+                return fromRoster.get();
+            }
+            return CompletableFuture.failedFuture(ex);
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof APIException apiException) {
+                throw apiException;
+            }
+            throw ex;
         }
     }
 }
@@ -0,0 +1,201 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.exception.APIException;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent employee creations into batch requests, so that a burst of creates spends one request of the
+ * server's rate limit budget instead of one each.
+ *
+ * <p>The first create of a batch opens a window of the configured length; creates arriving within it join the batch,
+ * which is sent when the window closes or the batch is full. A batch of one is sent as a plain create. Every caller
+ * gets its own result: the created employee, or a 400 with the reason the server rejected that item. A server without
+ * the batch endpoint (404 or 405) is sent the batch's creates one by one and not asked for batches again. A zero
+ * window or a maximum size of one turns batching off.
+ */
+@Component
+@Slf4j
+class EmployeeWriteBatcher {
+    static final String CREATE_URI = "/api/v1/employee";
+    static final String BATCH_CREATE_URI = "/api/v1/employee/batch";
+    private static final TypeReference<Employee> employeeTypeReference = new TypeReference<>() {};
+    private static final TypeReference<List<BatchResult<Employee>>> batchResultListTypeReference =
+            new TypeReference<>() {};
+
+    private final EmployeeAPIClient employeeApiClient;
+    private final long windowNanos;
+    private final int maxSize;
+    private final ScheduledExecutorService timer;
+    private final Counter batches;
+    private final Counter batchedCreates;
+    private volatile boolean batchEndpointAvailable = true;
+
+    // guarded by this
+    private List<PendingCreate> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public EmployeeWriteBatcher(
+            EmployeeAPIClient employeeApiClient,
+            @Value("${employee.client.batch.window:5ms}") Duration window,
+            @Value("${employee.client.batch.max-size:100}") int maxSize,
+            MeterRegistry meterRegistry) {
+        this.employeeApiClient = employeeApiClient;
+        this.windowNanos = window.toNanos();
+        this.maxSize = maxSize;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-write-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batches = Counter.builder("employee.client.batch.requests")
+                .description("Batches of coalesced creates sent to the employee server")
+                .register(meterRegistry);
+        this.batchedCreates = Counter.builder("employee.client.batch.creates")
+                .description("Creates sent to the employee server as part of a batch")
+                .register(meterRegistry);
+    }
+
+    CompletableFuture<Employee> create(EmployeeCreationInput input) {
+        if (windowNanos <= 0 || maxSize <= 1) {
+            return post(input);
+        }
+
+        PendingCreate create = new PendingCreate(input, new CompletableFuture<>());
+        List<PendingCreate> full = null;
+        synchronized (this) {
+            pending.add(create);
+            if (pending.size() >= maxSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                scheduledFlush = timer.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (Objects.nonNull(full)) {
+            send(full);
+        }
+        return create.future();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private void flush() {
+        List<PendingCreate> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    // must hold this
+    private List<PendingCreate> takePending() {
+        if (Objects.nonNull(scheduledFlush)) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<PendingCreate> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void send(List<PendingCreate> batch) {
+        if (batch.size() == 1 || !batchEndpointAvailable) {
+            batch.forEach(this::sendAlone);
+            return;
+        }
+
+        batches.increment();
+        batchedCreates.increment(batch.size());
+        log.debug("Sending {} creates in one batch", batch.size());
+        List<EmployeeCreationInput> inputs = batch.stream().map(PendingCreate::input).toList();
+        CompletableFuture<List<BatchResult<Employee>>> response;
+        try {
+            response = employeeApiClient.post(BATCH_CREATE_URI, inputs, batchResultListTypeReference);
+        } catch (RuntimeException ex) {
+            response = CompletableFuture.failedFuture(ex);
+        }
+        response.whenComplete((results, ex) -> {
+            if (Objects.isNull(ex)) {
+                complete(batch, results);
+                return;
+            }
+
+            Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+            if (cause instanceof APIException apiException
+                    && (apiException.statusCode == 404 || apiException.statusCode == 405)) {
+                log.info("Employee server has no batch endpoint, creating employees one by one");
+                batchEndpointAvailable = false;
+                batch.forEach(this::sendAlone);
+                return;
+            }
+            batch.forEach(create -> create.future().completeExceptionally(cause));
+        });
+    }
+
+    private void complete(List<PendingCreate> batch, List<BatchResult<Employee>> results) {
+        List<BatchResult<Employee>> byIndex = new ArrayList<>(batch.size());
+        batch.forEach(ignored -> byIndex.add(null));
+        if (Objects.nonNull(results)) {
+            for (BatchResult<Employee> result : results) {
+                if (Objects.nonNull(result) && result.index() >= 0 && result.index() < batch.size()) {
+                    byIndex.set(result.index(), result);
+                }
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            BatchResult<Employee> result = byIndex.get(i);
+            CompletableFuture<Employee> future = batch.get(i).future();
+            if (Objects.isNull(result)) {
+                future.completeExceptionally(
+                        new APIException(500, "Employee server returned no result for the create"));
+            } else if (Objects.nonNull(result.error())) {
+                future.completeExceptionally(new APIException(400, result.error()));
+            } else {
+                future.complete(result.data());
+            }
+        }
+    }
+
+    private void sendAlone(PendingCreate create) {
+        post(create.input()).whenComplete((employee, ex) -> {
+            if (Objects.isNull(ex)) {
+                create.future().complete(employee);
+            } else {
+                create.future().completeExceptionally(ex instanceof CompletionException ? ex.getCause() : ex);
+            }
+        });
+    }
+
+    private CompletableFuture<Employee> post(EmployeeCreationInput input) {
+        try {
+            return employeeApiClient.post(CREATE_URI, input, employeeTypeReference);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private record PendingCreate(EmployeeCreationInput input, CompletableFuture<Employee> future) {}
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decodes the employee server's {@code {"data": ..., "status": ...}} response envelope in a single streaming pass: the
+ * parser skips every other top-level field and binds {@code data} straight from the stream with a cached
+ * {@link ObjectReader} for the target type.
+ */
+class EnvelopeReader {
+    private static final String DATA_FIELD = "data";
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    EnvelopeReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    <T> T readData(InputStream body, TypeReference<T> typeReference) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a response envelope object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (DATA_FIELD.equals(field)) {
+                    return value == JsonToken.VALUE_NULL
+                            ? null
+                            : readerFor(typeReference).readValue(parser);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    ObjectReader readerFor(TypeReference<?> typeReference) {
+        return readers.computeIfAbsent(
+                typeReference.getType(),
+                type -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type)));
+    }
+}
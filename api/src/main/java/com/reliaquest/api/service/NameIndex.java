@@ -0,0 +1,178 @@
+package com.reliaquest.api.service;
+
+import static com.reliaquest.api.utils.StringUtils.foldCase;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.utils.CaseInsensitiveMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Trigram inverted index over case-folded employee names, built once per roster snapshot. A substring query of three or
+ * more characters intersects the posting lists of its trigrams and only verifies the surviving candidates; shorter
+ * queries fall back to a linear scan over the pre-folded names. Both compile the query once into a
+ * {@link CaseInsensitiveMatcher} and run it against each name they check. Entries are addressed by roster slot, so a
+ * change feed only folds the names in the slots it touched and merges them into the posting lists of their trigrams;
+ * postings left behind by a replaced or deleted name are dropped at verification.
+ */
+final class NameIndex {
+    private static final int GRAM = 3;
+
+    private final RosterSlots slots;
+    private final String[] foldedNames;
+    private final Map<Long, int[]> postings;
+
+    private NameIndex(RosterSlots slots, String[] foldedNames, Map<Long, int[]> postings) {
+        this.slots = slots;
+        this.foldedNames = foldedNames;
+        this.postings = postings;
+    }
+
+    static NameIndex of(List<Employee> employees) {
+        return of(RosterSlots.of(employees));
+    }
+
+    static NameIndex of(RosterSlots slots) {
+        String[] foldedNames = new String[slots.size()];
+        Map<Long, Postings> builders = new HashMap<>();
+        for (int id = 0; id < foldedNames.length; id++) {
+            foldedNames[id] = index(slots.get(id), id, builders);
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((trigram, builder) -> postings.put(trigram, builder.toArray()));
+        return new NameIndex(slots, foldedNames, postings);
+    }
+
+    /**
+     * The index of {@code update.slots()}, given that this is the index of the slots the update was applied to.
+     */
+    NameIndex updated(RosterSlots.Update update) {
+        String[] nextFoldedNames = Arrays.copyOf(foldedNames, update.slots().size());
+        Map<Long, Postings> builders = new HashMap<>();
+        for (int id : update.changed()) {
+            nextFoldedNames[id] = index(update.slots().get(id), id, builders);
+        }
+
+        Map<Long, int[]> nextPostings = new HashMap<>(postings);
+        builders.forEach((trigram, builder) -> nextPostings.merge(trigram, builder.toArray(), NameIndex::union));
+        return new NameIndex(update.slots(), nextFoldedNames, nextPostings);
+    }
+
+    private static String index(Employee employee, int id, Map<Long, Postings> builders) {
+        if (Objects.isNull(employee) || Objects.isNull(employee.getName())) {
+            return null;
+        }
+        String folded = foldCase(employee.getName());
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            builders.computeIfAbsent(trigram(folded, i), ignored -> new Postings()).add(id);
+        }
+        return folded;
+    }
+
+    List<Employee> search(String searchString) {
+        String query = foldCase(searchString);
+        CaseInsensitiveMatcher matcher = CaseInsensitiveMatcher.of(query);
+        return query.length() < GRAM ? scan(matcher) : lookup(query, matcher);
+    }
+
+    private List<Employee> scan(CaseInsensitiveMatcher matcher) {
+        List<Employee> matches = new ArrayList<>();
+        for (int id = 0; id < foldedNames.length; id++) {
+            if (Objects.nonNull(foldedNames[id]) && matcher.matches(foldedNames[id])) {
+                matches.add(slots.get(id));
+            }
+        }
+        return matches;
+    }
+
+    private List<Employee> lookup(String query, CaseInsensitiveMatcher matcher) {
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            int[] list = postings.get(trigram(query, i));
+            if (Objects.isNull(list)) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists.get(0);
+        int size = candidates.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            if (lists.get(i) != lists.get(i - 1)) {
+                candidates = intersect(candidates, size, lists.get(i));
+                size = candidates.length;
+            }
+        }
+
+        List<Employee> matches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int id = candidates[i];
+            if (Objects.nonNull(foldedNames[id]) && matcher.matches(foldedNames[id])) {
+                matches.add(slots.get(id));
+            }
+        }
+        return matches;
+    }
+
+    private static int[] intersect(int[] smaller, int size, int[] larger) {
+        int[] result = new int[size];
+        int count = 0;
+        int from = 0;
+        for (int i = 0; i < size && from < larger.length; i++) {
+            int found = Arrays.binarySearch(larger, from, larger.length, smaller[i]);
+            if (found >= 0) {
+                result[count++] = smaller[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            int id = j == b.length || (i < a.length && a[i] < b[j]) ? a[i++] : b[j++];
+            if (count == 0 || result[count - 1] != id) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static long trigram(String folded, int offset) {
+        return ((long) folded.charAt(offset) << 32)
+                | ((long) folded.charAt(offset + 1) << 16)
+                | folded.charAt(offset + 2);
+    }
+
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.api.service;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Iterates a cursor-paginated listing, requesting the next page only once the caller has consumed the current one. A
+ * caller that stops early never fetches the remaining pages. Fetching blocks the iterating thread.
+ */
+final class PageIterator<T> implements Iterator<T> {
+    private final Function<String, Versioned<List<T>>> fetchPage;
+    private Iterator<T> page = Collections.emptyIterator();
+    private Versioned<List<T>> firstPage;
+    private String nextCursor;
+    private boolean lastPage;
+
+    /**
+     * @param fetchPage fetches the page after the given cursor, the first page for {@code null}
+     */
+    PageIterator(Function<String, Versioned<List<T>>> fetchPage) {
+        this.fetchPage = fetchPage;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext() && !lastPage) {
+            Versioned<List<T>> fetched = fetchPage.apply(nextCursor);
+            if (Objects.isNull(firstPage)) {
+                firstPage = fetched;
+            }
+            page = Objects.isNull(fetched.value())
+                    ? Collections.emptyIterator()
+                    : fetched.value().iterator();
+            nextCursor = fetched.nextCursor();
+            lastPage = Objects.isNull(nextCursor);
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+    /**
+     * The roster version the first page was read at, {@code null} before it was fetched or if the server sent none.
+     * Later pages may have been read at later versions.
+     */
+    Long version() {
+        return Objects.isNull(firstPage) ? null : firstPage.version();
+    }
+
+    /**
+     * The server instance that served the first page, {@code null} before it was fetched or if the server sent none.
+     */
+    String instance() {
+        return Objects.isNull(firstPage) ? null : firstPage.instance();
+    }
+}
@@ -0,0 +1,327 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client-side scheduler for requests to the rate-limited employee server.
+ *
+ * <p>The server lets a fixed number of requests through and then answers 429 until a backoff window has passed since
+ * the last accepted request. The scheduler learns that limit from the number of requests accepted before the first 429
+ * and the window from how long it takes until a probe is accepted again. Once the learned budget is spent it holds
+ * requests back instead of burning them into 429s. Queued requests are dispatched by {@link Priority}, so single
+ * employee lookups and writes go ahead of bulk roster refreshes. Requests that would wait longer than the configured
+ * maximum fail fast with a 429.
+ */
+@Component
+@Slf4j
+class RequestScheduler {
+    enum Priority {
+        INTERACTIVE,
+        BULK
+    }
+
+    private static final int UNKNOWN_LIMIT = -1;
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final long probeIntervalNanos;
+    private final long maxWaitNanos;
+    private final ScheduledExecutorService timer;
+    private final Counter rateLimitedResponses;
+    private final Counter rejectedRequests;
+
+    // guarded by this
+    private final PriorityQueue<Task<?>> queue = new PriorityQueue<>(
+            Comparator.<Task<?>, Priority>comparing(Task::priority).thenComparingLong(Task::sequence));
+    private long sequence;
+    private int limit = UNKNOWN_LIMIT;
+    private int remaining;
+    private int acceptedInWindow;
+    private long backoffNanos;
+    private long lastAcceptedNanos;
+    private boolean blocked;
+    private long blockedUntilNanos;
+    private boolean probeInFlight;
+    private ScheduledFuture<?> wakeUp;
+
+    public RequestScheduler(
+            @Value("${employee.client.scheduler.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${employee.client.scheduler.probe-interval:5s}") Duration probeInterval,
+            @Value("${employee.client.scheduler.max-wait:10s}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.backoffNanos = initialBackoff.toNanos();
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-request-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rateLimitedResponses = Counter.builder("employee.client.scheduler.rate_limited")
+                .description("429 responses received from the employee server")
+                .register(meterRegistry);
+        this.rejectedRequests = Counter.builder("employee.client.scheduler.rejected")
+                .description("Requests failed locally because the rate limit window would not reopen in time")
+                .register(meterRegistry);
+        Gauge.builder("employee.client.scheduler.queued", this, RequestScheduler::queued)
+                .description("Requests waiting for rate limit budget")
+                .register(meterRegistry);
+        Gauge.builder("employee.client.scheduler.limit", this, RequestScheduler::learnedLimit)
+                .description("Learned number of requests accepted per rate limit window, -1 while unknown")
+                .register(meterRegistry);
+    }
+
+    <T> CompletableFuture<HttpResponse<T>> submit(
+            Priority priority, Supplier<CompletableFuture<HttpResponse<T>>> call) {
+        Task<T> task;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (blocked && blockedUntilNanos - now > maxWaitNanos) {
+                rejectedRequests.increment();
+                return CompletableFuture.failedFuture(rejection(blockedUntilNanos - now));
+            }
+            task = new Task<>(priority, sequence++, call, new CompletableFuture<>());
+            task.timeout = timer.schedule(() -> expire(task), maxWaitNanos, TimeUnit.NANOSECONDS);
+            queue.add(task);
+        }
+        drain();
+        return task.future;
+    }
+
+    /*
+     * Decided under the lock, so that a task is either dispatched or rejected: once nextDispatchable has taken it off
+     * the queue it is sent and its caller gets the response, however late, rather than a 429 for a request that then
+     * goes out anyway and spends budget.
+     */
+    private void expire(Task<?> task) {
+        long retryAfterNanos;
+        synchronized (this) {
+            if (!queue.remove(task)) {
+                return;
+            }
+            retryAfterNanos = blocked ? blockedUntilNanos - System.nanoTime() : 0;
+        }
+        if (task.future.completeExceptionally(rejection(retryAfterNanos))) {
+            rejectedRequests.increment();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private void drain() {
+        List<Task<?>> dispatchable = new ArrayList<>();
+        synchronized (this) {
+            Task<?> task;
+            while (Objects.nonNull(task = nextDispatchable(System.nanoTime()))) {
+                dispatchable.add(task);
+            }
+        }
+        dispatchable.forEach(this::start);
+    }
+
+    // must hold this
+    private Task<?> nextDispatchable(long now) {
+        while (!queue.isEmpty() && queue.peek().future.isDone()) {
+            queue.poll();
+        }
+        if (queue.isEmpty()) {
+            return null;
+        }
+
+        if (!blocked && limit != UNKNOWN_LIMIT && remaining <= 0) {
+            block(lastAcceptedNanos + backoffNanos);
+        }
+        if (blocked) {
+            if (now - blockedUntilNanos < 0) {
+                scheduleWakeUp(blockedUntilNanos - now);
+                return null;
+            }
+            if (probeInFlight) {
+                return null;
+            }
+            probeInFlight = true;
+        } else if (limit != UNKNOWN_LIMIT) {
+            remaining--;
+        }
+
+        Task<?> task = queue.poll();
+        task.probe = blocked;
+        return task;
+    }
+
+    private <T> void start(Task<T> task) {
+        task.timeout.cancel(false);
+        CompletableFuture<HttpResponse<T>> response;
+        try {
+            response = task.call.get();
+        } catch (RuntimeException ex) {
+            onFailure(task);
+            task.future.completeExceptionally(ex);
+            return;
+        }
+
+        response.whenComplete((result, ex) -> {
+            if (Objects.isNull(ex)) {
+                onResponse(task, result);
+                task.future.complete(result);
+            } else {
+                onFailure(task);
+                task.future.completeExceptionally(ex);
+            }
+        });
+    }
+
+    private void onResponse(Task<?> task, HttpResponse<?> response) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (response.statusCode() == TOO_MANY_REQUESTS) {
+                rateLimitedResponses.increment();
+                onRateLimited(task, now, retryAfterNanos(response));
+            } else {
+                onAccepted(task, now);
+            }
+        }
+        drain();
+    }
+
+    private void onFailure(Task<?> task) {
+        synchronized (this) {
+            if (task.probe) {
+                probeInFlight = false;
+            }
+        }
+        drain();
+    }
+
+    // must hold this
+    private void onRateLimited(Task<?> task, long now, long retryAfterNanos) {
+        if (task.probe) {
+            probeInFlight = false;
+            blockedUntilNanos = now + (retryAfterNanos > 0 ? retryAfterNanos : probeIntervalNanos);
+            return;
+        }
+        if (blocked) {
+            return;
+        }
+
+        if (limit == UNKNOWN_LIMIT || acceptedInWindow < limit) {
+            limit = Math.max(1, acceptedInWindow);
+            log.info("Learned employee server rate limit: {} requests per window", limit);
+        }
+        block(now + (retryAfterNanos > 0 ? retryAfterNanos : backoffNanos));
+    }
+
+    // must hold this
+    private void onAccepted(Task<?> task, long now) {
+        if (task.probe) {
+            probeInFlight = false;
+            if (acceptedInWindow > 0) {
+                backoffNanos = now - lastAcceptedNanos;
+                log.info(
+                        "Employee server rate limit window reopened after {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(backoffNanos));
+            }
+            blocked = false;
+            acceptedInWindow = 0;
+            remaining = limit == UNKNOWN_LIMIT ? 0 : limit - 1;
+        }
+        acceptedInWindow++;
+        lastAcceptedNanos = now;
+    }
+
+    // must hold this
+    private void block(long untilNanos) {
+        blocked = true;
+        blockedUntilNanos = untilNanos;
+        remaining = 0;
+        log.debug(
+                "Holding employee server requests for {} ms",
+                TimeUnit.NANOSECONDS.toMillis(untilNanos - System.nanoTime()));
+    }
+
+    // must hold this
+    private void scheduleWakeUp(long delayNanos) {
+        if (Objects.nonNull(wakeUp) && !wakeUp.isDone()) {
+            return;
+        }
+        wakeUp = timer.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static long retryAfterNanos(HttpResponse<?> response) {
+        return response.headers()
+                .firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return TimeUnit.SECONDS.toNanos(Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+
+    private static APIException rejection(long retryAfterNanos) {
+        return new APIException(
+                TOO_MANY_REQUESTS,
+                "Employee server rate limit exceeded, try again later",
+                Duration.ofNanos(Math.max(0, retryAfterNanos)));
+    }
+
+    private synchronized int queued() {
+        return queue.size();
+    }
+
+    private synchronized int learnedLimit() {
+        return limit;
+    }
+
+    private static final class Task<T> {
+        private final Priority priority;
+        private final long sequence;
+        private final Supplier<CompletableFuture<HttpResponse<T>>> call;
+        private final CompletableFuture<HttpResponse<T>> future;
+        private ScheduledFuture<?> timeout;
+        private boolean probe;
+
+        private Task(
+                Priority priority,
+                long sequence,
+                Supplier<CompletableFuture<HttpResponse<T>>> call,
+                CompletableFuture<HttpResponse<T>> future) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.call = call;
+            this.future = future;
+        }
+
+        Priority priority() {
+            return priority;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.service;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retry policy per HTTP method. GETs are idempotent and retried by default; POST creates an employee, and DELETE
+ * deletes one by id, or by name on servers without delete by id. A retried delete whose first attempt went through
+ * would be answered 404 and reported as a missing employee, so both are sent once unless configured otherwise.
+ */
+@Component
+class RetryPolicies {
+    private final RetryPolicy get;
+    private final RetryPolicy post;
+    private final RetryPolicy delete;
+
+    public RetryPolicies(
+            @Value("${employee.client.retry.get.max-attempts:3}") int getMaxAttempts,
+            @Value("${employee.client.retry.post.max-attempts:1}") int postMaxAttempts,
+            @Value("${employee.client.retry.delete.max-attempts:1}") int deleteMaxAttempts,
+            @Value("${employee.client.retry.base-delay:100ms}") Duration baseDelay,
+            @Value("${employee.client.retry.max-delay:2s}") Duration maxDelay) {
+        this.get = new RetryPolicy(getMaxAttempts, baseDelay, maxDelay);
+        this.post = new RetryPolicy(postMaxAttempts, baseDelay, maxDelay);
+        this.delete = new RetryPolicy(deleteMaxAttempts, baseDelay, maxDelay);
+    }
+
+    RetryPolicy forMethod(String method) {
+        return switch (method) {
+            case "GET" -> get;
+            case "POST" -> post;
+            case "DELETE" -> delete;
+            default -> RetryPolicy.none();
+        };
+    }
+}
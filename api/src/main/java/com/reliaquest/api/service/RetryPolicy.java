@@ -0,0 +1,61 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.reliaquest.api.exception.APIException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and how far apart a failed call to the employee server is retried. Only rate limiting, server errors and
+ * connection failures are retried. A {@code Retry-After} hint is honoured when it is present and no longer than the
+ * maximum delay, otherwise the call gives up straight away. Without a hint the delay uses decorrelated jitter: a
+ * random value between the base delay and three times the previous delay, capped at the maximum.
+ */
+record RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+    static final long NO_RETRY = -1;
+
+    static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * @return nanoseconds to wait before the next attempt, or {@link #NO_RETRY} if the failure should be surfaced
+     */
+    long delayBeforeRetryNanos(int attempt, long previousDelayNanos, Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (attempt >= maxAttempts || !isRetryable(cause)) {
+            return NO_RETRY;
+        }
+
+        long maxDelayNanos = maxDelay.toNanos();
+        if (cause instanceof APIException apiException && apiException.retryAfter.isPositive()) {
+            long retryAfterNanos = apiException.retryAfter.toNanos();
+            return retryAfterNanos <= maxDelayNanos ? retryAfterNanos : NO_RETRY;
+        }
+
+        long baseDelayNanos = baseDelay.toNanos();
+        long upperNanos = Math.max(baseDelayNanos, previousDelayNanos * 3);
+        long jittered = upperNanos > baseDelayNanos
+                ? ThreadLocalRandom.current().nextLong(baseDelayNanos, upperNanos + 1)
+                : baseDelayNanos;
+        return Math.min(maxDelayNanos, jittered);
+    }
+
+    private static boolean isRetryable(Throwable cause) {
+        if (cause instanceof APIException apiException) {
+            return apiException.statusCode == 429 || apiException.statusCode >= 500;
+        }
+        return cause instanceof IOException && !(cause instanceof JsonProcessingException);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && Objects.nonNull(cause.getCause())) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
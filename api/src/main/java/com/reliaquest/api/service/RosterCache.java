@@ -0,0 +1,327 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.reliaquest.api.exception.APIException;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the last good {@link RosterSnapshot} and refreshes it with stale-while-revalidate semantics: once the TTL has
+ * expired, callers keep receiving the stale snapshot while a single background refresh is in flight. A failed refresh
+ * (e.g. the employee server rate limiting us) keeps the last good snapshot in place. Snapshots carry the roster
+ * version reported by the server; when a refresh returns the version already held, the existing snapshot and its
+ * derived indexes are kept and only its expiry is renewed.
+ *
+ * <p>With incremental sync enabled, a refresh asks the server's change feed for the creates and deletes since the
+ * held version and applies them to a copy of the snapshot, rather than downloading the roster again. When the server
+ * answers 410 because the version has aged out of its change log, the roster is fetched in full; a server without a
+ * change feed (404) is not asked again.
+ *
+ * <p>With a page size configured, the very first roster is read page by page through
+ * {@link EmployeeAPIClient#iterate}, so that neither side builds a response of the whole roster. The walk is not
+ * atomic: the snapshot takes the version of the first page, and the change feed later replays whatever changed while
+ * the remaining pages were read. Creates replace and deletes of absent employees are no-ops, so the replay converges.
+ *
+ * <p>{@link #invalidate()} bumps an invalidation generation that every refresh records when it starts. A refresh that
+ * was already in flight when a write invalidated the cache may have read the roster from before the write, so its
+ * result is published already expired and the next read refreshes again instead of serving it as fresh.
+ */
+@Component
+@Slf4j
+class RosterCache {
+    static final String ROSTER_URI = "/api/v1/employee";
+    static final String CHANGES_URI = "/api/v1/employee/changes?since=";
+    private static final TypeReference<List<Employee>> employeeListTypeReference = new TypeReference<>() {};
+    private static final TypeReference<List<RosterChange>> changeListTypeReference = new TypeReference<>() {};
+    private static final Executor PAGE_FETCHER =
+            runnable -> Thread.ofVirtual().name("roster-page-fetch").start(runnable);
+
+    private final EmployeeAPIClient employeeApiClient;
+    private final Duration ttl;
+    private final int pageSize;
+    private final AtomicReference<RosterSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<RosterSnapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile boolean incremental;
+    // the change feed is only asked with a version the server reported, never a locally assigned one
+    private volatile boolean serverVersioned;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleHits;
+    private final Counter refreshFailures;
+    private final Counter unchangedRefreshes;
+    private final Counter appliedChanges;
+    private final Counter resyncs;
+
+    public RosterCache(
+            EmployeeAPIClient employeeApiClient,
+            @Value("${employee.roster.cache.ttl:30s}") Duration ttl,
+            @Value("${employee.roster.cache.incremental:true}") boolean incremental,
+            @Value("${employee.roster.page-size:1000}") int pageSize,
+            MeterRegistry meterRegistry) {
+        this.employeeApiClient = employeeApiClient;
+        this.ttl = ttl;
+        this.incremental = incremental;
+        this.pageSize = pageSize;
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.staleHits = requestCounter(meterRegistry, "stale");
+        this.refreshFailures = Counter.builder("employee.roster.cache.refresh.failures")
+                .description("Roster refreshes that failed and kept the previous snapshot")
+                .register(meterRegistry);
+        this.unchangedRefreshes = Counter.builder("employee.roster.cache.refresh.unchanged")
+                .description("Roster refreshes that returned the version already cached")
+                .register(meterRegistry);
+        this.appliedChanges = Counter.builder("employee.roster.cache.changes.applied")
+                .description("Creates and deletes from the change feed applied to the cached roster")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("employee.roster.cache.resyncs")
+                .description("Full roster fetches after the cached version aged out of the server's change log")
+                .register(meterRegistry);
+        Gauge.builder("employee.roster.cache.age", this, RosterCache::ageInSeconds)
+                .description("Seconds since the current roster snapshot was fetched")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("employee.roster.cache.version", this, RosterCache::currentVersion)
+                .description("Version of the current roster snapshot")
+                .register(meterRegistry);
+    }
+
+    RosterSnapshot get() {
+        return getAsync().join();
+    }
+
+    /**
+     * Completes immediately with the current snapshot, fresh or stale; only the very first read waits for the roster.
+     */
+    CompletableFuture<RosterSnapshot> getAsync() {
+        RosterSnapshot current = snapshot.get();
+        if (Objects.isNull(current)) {
+            misses.increment();
+            return refresh().copy();
+        }
+
+        if (current.isExpired(Instant.now())) {
+            staleHits.increment();
+            refresh();
+        } else {
+            hits.increment();
+        }
+        return CompletableFuture.completedFuture(current);
+    }
+
+    /**
+     * Whether a snapshot, fresh or stale, is held, i.e. whether {@link #getAsync()} would complete without waiting.
+     */
+    boolean hasSnapshot() {
+        return Objects.nonNull(snapshot.get());
+    }
+
+    /**
+     * Whether a snapshot is held that has not expired yet.
+     */
+    boolean hasFreshSnapshot() {
+        RosterSnapshot current = snapshot.get();
+        return Objects.nonNull(current) && !current.isExpired(Instant.now());
+    }
+
+    /**
+     * Marks the current snapshot as expired so that the next read triggers a refresh, e.g. after a write.
+     */
+    void invalidate() {
+        invalidations.incrementAndGet();
+        snapshot.updateAndGet(current -> Objects.isNull(current) ? null : current.expired());
+    }
+
+    private CompletableFuture<RosterSnapshot> refresh() {
+        CompletableFuture<RosterSnapshot> pending = new CompletableFuture<>();
+        CompletableFuture<RosterSnapshot> existing = inFlight.compareAndExchange(null, pending);
+        if (Objects.nonNull(existing)) {
+            return existing;
+        }
+
+        log.debug("Refreshing roster snapshot, current version: {}", currentVersion());
+        try {
+            long generation = invalidations.get();
+            RosterSnapshot current = snapshot.get();
+            (Objects.nonNull(current) && incremental && serverVersioned ? sync(current, generation) : fetch(generation))
+                    .whenComplete((published, ex) -> complete(pending, published, ex));
+        } catch (RuntimeException ex) {
+            complete(pending, null, ex);
+        }
+        return pending;
+    }
+
+    private CompletableFuture<RosterSnapshot> fetch(long generation) {
+        if (pageSize > 0 && Objects.isNull(snapshot.get())) {
+            return fetchPages(generation);
+        }
+        return employeeApiClient
+                .getVersioned(ROSTER_URI, employeeListTypeReference, RequestScheduler.Priority.BULK)
+                .thenApply(roster -> publish(generation, roster.version(), roster.instance(), roster.value()));
+    }
+
+    // the iterator blocks on every page, so the walk gets a virtual thread of its own
+    private CompletableFuture<RosterSnapshot> fetchPages(long generation) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    PageIterator<Employee> pages = employeeApiClient.iterate(
+                            ROSTER_URI, employeeListTypeReference, pageSize, RequestScheduler.Priority.BULK);
+                    List<Employee> employees = new ArrayList<>();
+                    pages.forEachRemaining(employees::add);
+                    return publish(generation, pages.version(), pages.instance(), employees);
+                },
+                PAGE_FETCHER);
+    }
+
+    private CompletableFuture<RosterSnapshot> sync(RosterSnapshot current, long generation) {
+        return employeeApiClient
+                .getVersioned(changesUri(current), changeListTypeReference, RequestScheduler.Priority.BULK)
+                .thenApply(changes -> apply(current, generation, changes))
+                .exceptionallyCompose(ex -> {
+                    Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                    if (!(cause instanceof APIException apiException)) {
+                        return CompletableFuture.failedFuture(ex);
+                    }
+                    if (apiException.statusCode == 410) {
+                        resyncs.increment();
+                        log.info(
+                                "Roster version {} aged out of the change log or was issued by another server instance,"
+                                        + " fetching the roster",
+                                current.version());
+                        return fetch(generation);
+                    }
+                    if (apiException.statusCode == 404) {
+                        incremental = false;
+                        log.info("Employee server has no change feed, refreshing the full roster from now on");
+                        return fetch(generation);
+                    }
+                    return CompletableFuture.failedFuture(ex);
+                });
+    }
+
+    // with the instance, a restarted server answers 410 instead of changes since a version it happens to reissue
+    private static String changesUri(RosterSnapshot current) {
+        String uri = CHANGES_URI + current.version();
+        return Objects.isNull(current.instance())
+                ? uri
+                : uri + "&instance=" + URLEncoder.encode(current.instance(), StandardCharsets.UTF_8);
+    }
+
+    private RosterSnapshot apply(RosterSnapshot current, long generation, Versioned<List<RosterChange>> changes) {
+        List<RosterChange> feed = Objects.isNull(changes.value()) ? List.of() : changes.value();
+        String instance = Objects.isNull(changes.instance()) ? current.instance() : changes.instance();
+        if (feed.isEmpty()) {
+            return publish(generation, current.version(), instance, current.employees());
+        }
+
+        long version = Objects.isNull(changes.version()) ? feed.get(feed.size() - 1).version() : changes.version();
+        appliedChanges.increment(feed.size());
+        log.debug("Applying {} roster changes to version {}", feed.size(), current.version());
+        return publish(
+                generation,
+                version,
+                instance,
+                (fetchedAt, expiresAt) -> current.applied(feed, version, instance, fetchedAt, expiresAt));
+    }
+
+    private RosterSnapshot publish(long generation, Long version, String instance, List<Employee> employees) {
+        return publish(
+                generation,
+                version,
+                instance,
+                (fetchedAt, expiresAt) -> RosterSnapshot.of(
+                        Objects.isNull(version) ? versions.incrementAndGet() : version,
+                        instance,
+                        Objects.isNull(employees) ? List.of() : Collections.unmodifiableList(employees),
+                        fetchedAt,
+                        expiresAt));
+    }
+
+    /*
+     * build is only called for a changed roster, with the fetch time and expiry of the snapshot to publish.
+     */
+    private RosterSnapshot publish(
+            long generation, Long version, String instance, BiFunction<Instant, Instant, RosterSnapshot> build) {
+        Instant now = Instant.now();
+        RosterSnapshot current = snapshot.get();
+        // a restarted server may reissue a version, so it only identifies a roster together with the instance
+        boolean unchanged = Objects.nonNull(current)
+                && Objects.nonNull(version)
+                && current.version() == version
+                && Objects.equals(current.instance(), instance);
+        RosterSnapshot refreshed =
+                unchanged ? current.renewed(now, now.plus(ttl)) : build.apply(now, now.plus(ttl));
+        // checked inside the swap so that an invalidation either sees the new snapshot or is seen by this check
+        RosterSnapshot published = snapshot.updateAndGet(
+                ignored -> invalidations.get() == generation ? refreshed : refreshed.expired());
+        if (published != refreshed) {
+            log.debug("Roster invalidated during refresh, publishing version {} as stale", published.version());
+        }
+
+        if (unchanged) {
+            unchangedRefreshes.increment();
+            log.debug("Roster version {} unchanged, keeping snapshot", published.version());
+            return published;
+        }
+
+        serverVersioned = Objects.nonNull(version);
+        log.debug(
+                "Published roster snapshot version {} with {} employees",
+                published.version(),
+                published.employees().size());
+        return published;
+    }
+
+    private void complete(CompletableFuture<RosterSnapshot> pending, RosterSnapshot published, Throwable ex) {
+        inFlight.set(null);
+        if (Objects.isNull(ex)) {
+            pending.complete(published);
+            return;
+        }
+
+        refreshFailures.increment();
+        log.warn("Roster refresh failed, keeping snapshot version {}: {}", currentVersion(), ex.getMessage());
+        pending.completeExceptionally(ex);
+    }
+
+    private long currentVersion() {
+        RosterSnapshot current = snapshot.get();
+        return Objects.isNull(current) ? 0 : current.version();
+    }
+
+    private double ageInSeconds() {
+        RosterSnapshot current = snapshot.get();
+        return Objects.isNull(current)
+                ? 0
+                : Duration.between(current.fetchedAt(), Instant.now()).toMillis() / 1000.0;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.roster.cache.requests")
+                .description("Roster cache lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.reliaquest.api.model.Employee;
+
+/**
+ * A create or delete from the employee server's change feed, tagged with the roster version it produced.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record RosterChange(long version, Type type, Employee employee) {
+    enum Type {
+        CREATED,
+        DELETED
+    }
+}
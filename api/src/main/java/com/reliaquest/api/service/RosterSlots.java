@@ -0,0 +1,131 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * The employees of a roster snapshot in slots, in roster order. An employee keeps its slot for as long as it stays on
+ * the roster: a delete empties the slot and a create takes a new one at the end. Structures derived from a snapshot
+ * and addressed by slot, such as the {@link SalaryRanking} and the {@link NameIndex}, can therefore be carried over to
+ * the next snapshot by updating just the slots a change feed touched.
+ */
+final class RosterSlots {
+    private final Employee[] slots;
+    private final int live;
+    private final List<Employee> employees;
+
+    private RosterSlots(Employee[] slots, int live, List<Employee> employees) {
+        this.slots = slots;
+        this.live = live;
+        this.employees = employees;
+    }
+
+    static RosterSlots of(List<Employee> employees) {
+        return new RosterSlots(employees.toArray(Employee[]::new), employees.size(), employees);
+    }
+
+    /**
+     * The next slots after a change feed, and the slots the feed touched in ascending order.
+     */
+    record Update(RosterSlots slots, int[] changed) {}
+
+    int size() {
+        return slots.length;
+    }
+
+    /**
+     * The employee in the slot, {@code null} if the slot was emptied by a delete.
+     */
+    Employee get(int slot) {
+        return slots[slot];
+    }
+
+    /**
+     * The employees in roster order, without empty slots.
+     */
+    List<Employee> employees() {
+        return employees;
+    }
+
+    /**
+     * Whether more slots are empty than taken, so that a fresh snapshot is cheaper to keep than carrying this one over.
+     */
+    boolean sparse() {
+        return slots.length - live > live;
+    }
+
+    /**
+     * Applies the changes in order, the way a {@link LinkedHashMap} keyed by employee id would: a create of an employee
+     * on the roster replaces it in its slot, any other create takes a new slot at the end, and a delete empties the
+     * employee's slot.
+     */
+    Update applying(List<RosterChange> feed) {
+        Map<UUID, Integer> existing = new HashMap<>();
+        feed.forEach(change -> existing.put(change.employee().getId(), -1));
+        for (int slot = 0; slot < slots.length; slot++) {
+            if (Objects.nonNull(slots[slot]) && existing.containsKey(slots[slot].getId())) {
+                existing.put(slots[slot].getId(), slot);
+            }
+        }
+
+        Map<Integer, Employee> replaced = new TreeMap<>();
+        Map<UUID, Employee> appended = new LinkedHashMap<>();
+        for (RosterChange change : feed) {
+            UUID id = change.employee().getId();
+            int slot = existing.get(id);
+            switch (change.type()) {
+                case CREATED -> {
+                    if (slot < 0 || appended.containsKey(id)) {
+                        appended.put(id, change.employee());
+                    } else {
+                        replaced.put(slot, change.employee());
+                    }
+                }
+                case DELETED -> {
+                    if (Objects.isNull(appended.remove(id)) && slot >= 0) {
+                        replaced.put(slot, null);
+                        existing.put(id, -1);
+                    }
+                }
+            }
+        }
+
+        Employee[] next = Arrays.copyOf(slots, slots.length + appended.size());
+        int[] changed = new int[replaced.size() + appended.size()];
+        int nextLive = live;
+        int i = 0;
+        for (Map.Entry<Integer, Employee> entry : replaced.entrySet()) {
+            changed[i++] = entry.getKey();
+            next[entry.getKey()] = entry.getValue();
+            if (Objects.isNull(entry.getValue())) {
+                nextLive--;
+            }
+        }
+        int slot = slots.length;
+        for (Employee employee : appended.values()) {
+            changed[i++] = slot;
+            next[slot++] = employee;
+            nextLive++;
+        }
+        return new Update(new RosterSlots(next, nextLive, compact(next, nextLive)), changed);
+    }
+
+    private static List<Employee> compact(Employee[] slots, int live) {
+        Employee[] employees = new Employee[live];
+        int i = 0;
+        for (Employee employee : slots) {
+            if (Objects.nonNull(employee)) {
+                employees[i++] = employee;
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(employees));
+    }
+}
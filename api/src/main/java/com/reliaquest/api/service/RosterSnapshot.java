@@ -0,0 +1,67 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the full employee roster as fetched from the employee server at {@code fetchedAt}, together with
+ * the derived structures that are built once per snapshot rather than once per request. {@code instance} is the id of
+ * the server run that issued {@code version}, {@code null} if the server sent none.
+ */
+record RosterSnapshot(
+        long version,
+        String instance,
+        RosterSlots slots,
+        SalaryRanking salaryRanking,
+        NameIndex nameIndex,
+        Instant fetchedAt,
+        Instant expiresAt) {
+
+    static RosterSnapshot of(
+            long version, String instance, List<Employee> employees, Instant fetchedAt, Instant expiresAt) {
+        RosterSlots slots = RosterSlots.of(employees);
+        return new RosterSnapshot(
+                version, instance, slots, SalaryRanking.of(slots), NameIndex.of(slots), fetchedAt, expiresAt);
+    }
+
+    List<Employee> employees() {
+        return slots.employees();
+    }
+
+    /**
+     * The roster after the changes of a change feed. The derived structures are updated at the slots the feed touched
+     * rather than rebuilt, unless deletes have left most slots empty.
+     */
+    RosterSnapshot applied(
+            List<RosterChange> feed, long version, String instance, Instant fetchedAt, Instant expiresAt) {
+        RosterSlots.Update update = slots.applying(feed);
+        if (update.slots().sparse()) {
+            return of(version, instance, update.slots().employees(), fetchedAt, expiresAt);
+        }
+        return new RosterSnapshot(
+                version,
+                instance,
+                update.slots(),
+                salaryRanking.updated(update),
+                nameIndex.updated(update),
+                fetchedAt,
+                expiresAt);
+    }
+
+    boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Same roster and derived structures, fetched again at {@code fetchedAt}; used when the server reports an unchanged
+     * roster version.
+     */
+    RosterSnapshot renewed(Instant fetchedAt, Instant expiresAt) {
+        return new RosterSnapshot(version, instance, slots, salaryRanking, nameIndex, fetchedAt, expiresAt);
+    }
+
+    RosterSnapshot expired() {
+        return new RosterSnapshot(version, instance, slots, salaryRanking, nameIndex, fetchedAt, Instant.MIN);
+    }
+}
@@ -0,0 +1,219 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Salary ranking over an immutable roster. Salaries are unboxed once into a primitive column, addressed by roster slot,
+ * when the roster snapshot is published; top/bottom-K queries then run a bounded binary heap over that column in
+ * O(n log k) and are memoized per (k, order) for the lifetime of the snapshot. A change feed only updates the column at
+ * the slots it touched, and a memoized selection none of whose entries changed carries over to the next snapshot by
+ * reselecting among its own entries and the changed slots. Employees without a salary are not ranked. Ties keep roster
+ * order.
+ */
+final class SalaryRanking {
+    enum Order {
+        HIGHEST,
+        LOWEST
+    }
+
+    private record Selection(int[] slots, List<Employee> employees) {}
+
+    private final RosterSlots slots;
+    private final int[] salaries;
+    private final BitSet ranked;
+    private final int count;
+    private final int highestSalary;
+    private final ConcurrentMap<Integer, Selection> selections = new ConcurrentHashMap<>();
+
+    private SalaryRanking(RosterSlots slots, int[] salaries, BitSet ranked, int count, int highestSalary) {
+        this.slots = slots;
+        this.salaries = salaries;
+        this.ranked = ranked;
+        this.count = count;
+        this.highestSalary = highestSalary;
+    }
+
+    static SalaryRanking of(List<Employee> employees) {
+        return of(RosterSlots.of(employees));
+    }
+
+    static SalaryRanking of(RosterSlots slots) {
+        int[] salaries = new int[slots.size()];
+        BitSet ranked = new BitSet(slots.size());
+        int count = 0;
+        int highestSalary = 0;
+        for (int slot = 0; slot < slots.size(); slot++) {
+            Integer salary = salaryOf(slots.get(slot));
+            if (Objects.nonNull(salary)) {
+                salaries[slot] = salary;
+                ranked.set(slot);
+                highestSalary = count == 0 ? salary : Math.max(highestSalary, salary);
+                count++;
+            }
+        }
+        return new SalaryRanking(slots, salaries, ranked, count, highestSalary);
+    }
+
+    /**
+     * The ranking of {@code update.slots()}, given that this is the ranking of the slots the update was applied to.
+     */
+    SalaryRanking updated(RosterSlots.Update update) {
+        RosterSlots next = update.slots();
+        int[] nextSalaries = Arrays.copyOf(salaries, next.size());
+        BitSet nextRanked = (BitSet) ranked.clone();
+        int nextCount = count;
+        int nextHighest = count == 0 ? Integer.MIN_VALUE : highestSalary;
+        boolean rescan = false;
+        for (int slot : update.changed()) {
+            if (nextRanked.get(slot)) {
+                nextRanked.clear(slot);
+                nextCount--;
+                rescan |= salaries[slot] == highestSalary;
+            }
+            Integer salary = salaryOf(next.get(slot));
+            if (Objects.nonNull(salary)) {
+                nextSalaries[slot] = salary;
+                nextRanked.set(slot);
+                nextHighest = Math.max(nextHighest, salary);
+                nextCount++;
+            }
+        }
+        // only losing the highest salary needs a pass over the column
+        if (rescan) {
+            nextHighest = Integer.MIN_VALUE;
+            for (int slot = nextRanked.nextSetBit(0); slot >= 0; slot = nextRanked.nextSetBit(slot + 1)) {
+                nextHighest = Math.max(nextHighest, nextSalaries[slot]);
+            }
+        }
+
+        SalaryRanking ranking =
+                new SalaryRanking(next, nextSalaries, nextRanked, nextCount, nextCount == 0 ? 0 : nextHighest);
+        ranking.carryOver(selections, update.changed());
+        return ranking;
+    }
+
+    int highestSalary() {
+        return highestSalary;
+    }
+
+    List<Employee> top(int k, Order order) {
+        if (k <= 0 || count == 0) {
+            return List.of();
+        }
+        int bounded = Math.min(k, count);
+        return selections
+                .computeIfAbsent(bounded * 2 + order.ordinal(), key -> select(bounded, order, candidates()))
+                .employees();
+    }
+
+    /*
+     * Every entry left out of a selection ranks below all of its entries, so while none of those entries changed the
+     * new top-k is among them and the changed slots.
+     */
+    private void carryOver(Map<Integer, Selection> previous, int[] changed) {
+        int[] changedRanked = Arrays.stream(changed).filter(ranked::get).toArray();
+        previous.forEach((key, selection) -> {
+            int k = key / 2;
+            if (k > count || touched(selection.slots(), changed)) {
+                return;
+            }
+            int[] candidates = Arrays.copyOf(selection.slots(), k + changedRanked.length);
+            System.arraycopy(changedRanked, 0, candidates, k, changedRanked.length);
+            selections.put(key, select(k, Order.values()[key % 2], Arrays.stream(candidates).iterator()));
+        });
+    }
+
+    private static boolean touched(int[] selected, int[] changed) {
+        for (int slot : selected) {
+            if (Arrays.binarySearch(changed, slot) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private PrimitiveIterator.OfInt candidates() {
+        return ranked.stream().iterator();
+    }
+
+    private Selection select(int k, Order order, PrimitiveIterator.OfInt candidates) {
+        boolean highest = order == Order.HIGHEST;
+        int[] heap = new int[k];
+        int size = 0;
+        while (candidates.hasNext()) {
+            int slot = candidates.nextInt();
+            if (size < k) {
+                heap[size] = slot;
+                siftUp(heap, size++, highest);
+            } else if (weaker(heap[0], slot, highest)) {
+                heap[0] = slot;
+                siftDown(heap, size, highest);
+            }
+        }
+
+        int[] selected = new int[size];
+        Employee[] employees = new Employee[size];
+        while (size > 0) {
+            selected[--size] = heap[0];
+            employees[size] = slots.get(heap[0]);
+            heap[0] = heap[size];
+            siftDown(heap, size, highest);
+        }
+        return new Selection(selected, List.of(employees));
+    }
+
+    private static Integer salaryOf(Employee employee) {
+        return Objects.isNull(employee) ? null : employee.getSalary();
+    }
+
+    /*
+     * The heap root is the weakest kept entry: the lowest salary when ranking the highest earners and vice versa. Among
+     * equal salaries the later roster entry is weaker so that ties keep roster order.
+     */
+    private boolean weaker(int a, int b, boolean highest) {
+        if (salaries[a] != salaries[b]) {
+            return highest ? salaries[a] < salaries[b] : salaries[a] > salaries[b];
+        }
+        return a > b;
+    }
+
+    private void siftUp(int[] heap, int index, boolean highest) {
+        int entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!weaker(entry, heap[parent], highest)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = entry;
+    }
+
+    private void siftDown(int[] heap, int size, boolean highest) {
+        int index = 0;
+        int entry = heap[0];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && weaker(heap[right], heap[child], highest)) {
+                child = right;
+            }
+            if (!weaker(heap[child], entry, highest)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = entry;
+    }
+}
@@ -0,0 +1,10 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Salary aggregates the employee server maintains for its current roster; {@code max} is {@code null} when no employee
+ * has a salary.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record SalaryStatistics(long count, long sum, Integer max) {}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.service;
+
+/**
+ * A decoded response together with the roster metadata the employee server sent as headers: the roster version,
+ * {@code null} without a {@value #ROSTER_VERSION_HEADER} header, and the id of the server instance that issued it,
+ * {@code null} without a {@value #ROSTER_INSTANCE_HEADER} header; a restarted server may issue the same version again.
+ * For a page of a paginated listing {@code nextCursor} is the cursor of the next page, {@code null} on the last page or
+ * for unpaginated responses. {@code eTag} is the validator to revalidate the response with, {@code null} if the server
+ * sent none.
+ */
+record Versioned<T>(T value, Long version, String instance, String nextCursor, String eTag) {
+    static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+    static final String ROSTER_INSTANCE_HEADER = "X-Roster-Instance";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    Versioned(T value, Long version) {
+        this(value, version, null, null, null);
+    }
+
+    Versioned(T value, Long version, String instance, String nextCursor) {
+        this(value, version, instance, nextCursor, null);
+    }
+}
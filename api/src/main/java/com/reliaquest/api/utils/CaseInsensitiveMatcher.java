@@ -0,0 +1,59 @@
+package com.reliaquest.api.utils;
+
+import static com.reliaquest.api.utils.StringUtils.foldCase;
+
+import java.util.Arrays;
+
+/**
+ * Precompiled case-insensitive Boyer–Moore–Horspool matcher for searching many sources with the same pattern. The
+ * pattern is folded once; the bad-character table is indexed by the low byte of the folded character and keeps the
+ * smallest shift per bucket, which stays correct for any UTF-16 character.
+ */
+public final class CaseInsensitiveMatcher {
+    private static final int TABLE_SIZE = 256;
+    private static final int TABLE_MASK = TABLE_SIZE - 1;
+
+    private final char[] pattern;
+    private final int[] shifts;
+
+    private CaseInsensitiveMatcher(char[] pattern, int[] shifts) {
+        this.pattern = pattern;
+        this.shifts = shifts;
+    }
+
+    public static CaseInsensitiveMatcher of(String searchString) {
+        char[] pattern = foldCase(searchString).toCharArray();
+        int[] shifts = new int[TABLE_SIZE];
+        Arrays.fill(shifts, Math.max(pattern.length, 1));
+        for (int i = 0; i < pattern.length - 1; i++) {
+            shifts[pattern[i] & TABLE_MASK] = pattern.length - 1 - i;
+        }
+        return new CaseInsensitiveMatcher(pattern, shifts);
+    }
+
+    public boolean matches(String sourceString) {
+        return indexIn(sourceString) >= 0;
+    }
+
+    public int indexIn(String sourceString) {
+        int last = pattern.length - 1;
+        if (last < 0) {
+            return 0;
+        }
+
+        for (int position = 0, end = sourceString.length() - pattern.length; position <= end; ) {
+            char tail = foldCase(sourceString.charAt(position + last));
+            int j = last;
+            if (tail == pattern[j]) {
+                do {
+                    j--;
+                } while (j >= 0 && foldCase(sourceString.charAt(position + j)) == pattern[j]);
+                if (j < 0) {
+                    return position;
+                }
+            }
+            position += shifts[tail & TABLE_MASK];
+        }
+        return -1;
+    }
+}
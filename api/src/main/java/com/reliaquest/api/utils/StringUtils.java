@@ -1,7 +1,39 @@
 package com.reliaquest.api.utils;
 
 public class StringUtils {
+    /**
+     * Case-insensitive substring check that allocates nothing: the source is walked with region comparisons that fold
+     * each character on the fly instead of lower-casing copies of both strings. Folding is locale independent.
+     */
     public static boolean containsString(String sourceString, String searchString) {
-        return sourceString.toLowerCase().contains(searchString.toLowerCase());
+        int length = searchString.length();
+        if (length == 0) {
+            return true;
+        }
+
+        char first = foldCase(searchString.charAt(0));
+        for (int i = 0, last = sourceString.length() - length; i <= last; i++) {
+            if (foldCase(sourceString.charAt(i)) == first
+                    && sourceString.regionMatches(true, i + 1, searchString, 1, length - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Case-folds a single UTF-16 unit the same way {@link String#regionMatches(boolean, int, String, int, int)}
+     * compares characters when ignoring case, so folded strings keep the length and offsets of the original.
+     */
+    public static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    public static String foldCase(String value) {
+        char[] folded = new char[value.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = foldCase(value.charAt(i));
+        }
+        return new String(folded);
     }
 }
@@ -0,0 +1,105 @@
+package com.reliaquest.api.controller;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = "employee.controller.async=true")
+@AutoConfigureMockMvc
+class AsyncEmployeeControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @RegisterExtension
+    public static WireMockExtension employeeServerWireMockRule =
+            WireMockExtension.newInstance().options(wireMockConfig().port(8112)).build();
+
+    List<Employee> mockEmployeeList = List.of(
+            new Employee(UUID.randomUUID(), "Alice Smith", 1200, 30, "QA Engineer", "alice.smith@gmail.com"),
+            new Employee(UUID.randomUUID(), "Bob Johnson", 2500, 35, "DevOps Engineer", "bob.johnson@gmail.com"),
+            new Employee(UUID.randomUUID(), "Diana Prince", 3000, 32, "Frontend Developer", "diana.prince@gmail.com"));
+
+    EmployeeServerMocks employeeServerMocks = new EmployeeServerMocks(employeeServerWireMockRule);
+
+    @Test
+    void shouldReturnAllEmployeesAsynchronously() throws Exception {
+        employeeServerMocks.mockGetApiCall(
+                "/api/v1/employee", 200, getEnclosedResponse(objectMapper.writeValueAsString(mockEmployeeList)));
+
+        MvcResult result = mockMvc.perform(get("/")).andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(mockEmployeeList.size())));
+    }
+
+    @Test
+    void shouldPropagateUpstreamStatusWhenEmployeeDoesNotExist() throws Exception {
+        Employee mockEmployee = mockEmployeeList.get(0);
+        employeeServerMocks.mockGetApiCall(
+                "/api/v1/employee/" + mockEmployee.getId(), 404, "Employee not found with ID " + mockEmployee.getId());
+
+        MvcResult result = mockMvc.perform(get("/" + mockEmployee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$").value("Employee not found with ID " + mockEmployee.getId()));
+    }
+
+    @Test
+    void shouldReturnInternalServerErrorWhenUpstreamResponseIsMalformed() throws Exception {
+        Employee mockEmployee = mockEmployeeList.get(1);
+        employeeServerMocks.mockGetApiCall("/api/v1/employee/" + mockEmployee.getId(), 200, "{\"data\": ");
+
+        MvcResult result = mockMvc.perform(get("/" + mockEmployee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void shouldDeleteEmployeeByIdAsynchronously() throws Exception {
+        Employee mockEmployee = mockEmployeeList.get(2);
+        employeeServerMocks.mockDeleteApiCall(
+                "/api/v1/employee/" + mockEmployee.getId(),
+                200,
+                getEnclosedResponse(objectMapper.writeValueAsString(mockEmployee)));
+
+        MvcResult result = mockMvc.perform(delete("/" + mockEmployee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(mockEmployee.getName()));
+    }
+
+    String getEnclosedResponse(String response) {
+        return """
+      {
+        "data" : %s
+      }
+      """.formatted(response);
+    }
+}
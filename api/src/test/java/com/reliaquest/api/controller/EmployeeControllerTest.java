@@ -7,7 +7,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
-import com.reliaquest.api.controller.request.DeleteEmployeeInput;
 import com.reliaquest.api.controller.request.EmployeeCreationInput;
 import com.reliaquest.api.model.Employee;
 import java.util.List;
@@ -81,6 +80,14 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$").value("Employee not found with ID " + mockEmployee.getId()));
     }
 
+    @Test
+    void shouldReturnInternalServerErrorWhenUpstreamResponseIsMalformed() throws Exception {
+        Employee mockEmployee = mockEmployeeList.get(1);
+        employeeServerMocks.mockGetApiCall("/api/v1/employee/" + mockEmployee.getId(), 200, "{\"data\": ");
+
+        mockMvc.perform(get("/" + mockEmployee.getId())).andExpect(status().isInternalServerError());
+    }
+
     @Test
     void itShouldSearchEmployeeByName() throws Exception {
         employeeServerMocks.mockGetApiCall(
@@ -154,22 +161,11 @@ class EmployeeControllerTest {
     void shouldDeleteEmployeeById() throws Exception {
         Employee mockEmployee = mockEmployeeList.get(0);
 
-        // Mock GET call to check if employee exists
-        employeeServerMocks.mockGetApiCall(
+        employeeServerMocks.mockDeleteApiCall(
                 "/api/v1/employee/" + mockEmployee.getId(),
                 200,
                 getEnclosedResponse(objectMapper.writeValueAsString(mockEmployee)));
 
-        // Mock DELETE call
-        String deleteResponse = """
-              {
-                "data": true
-              }
-              """;
-
-        String deleteEmployeeInput = objectMapper.writeValueAsString(new DeleteEmployeeInput(mockEmployee.getName()));
-        employeeServerMocks.mockDeleteApiCall("/api/v1/employee", 200, deleteEmployeeInput, deleteResponse);
-
         mockMvc.perform(delete("/" + mockEmployee.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").value(mockEmployee.getName()));
@@ -179,14 +175,39 @@ class EmployeeControllerTest {
     void itShouldReturnBadRequestIfEmployeeNotFoundWhileDeleting() throws Exception {
         Employee mockEmployee = mockEmployeeList.get(0);
 
-        employeeServerMocks.mockGetApiCall(
-                "/api/v1/employee/" + mockEmployee.getId(), 200, getEnclosedResponse("null"));
+        employeeServerMocks.mockDeleteApiCall(
+                "/api/v1/employee/" + mockEmployee.getId(),
+                404,
+                "{\"status\":\"Successfully processed request.\"}");
 
         mockMvc.perform(delete("/" + mockEmployee.getId()))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$").value("Employee not found with ID " + mockEmployee.getId()));
     }
 
+    @Test
+    void shouldLookUpEmployeesByIdsInOneUpstreamCall() throws Exception {
+        Employee alice = mockEmployeeList.get(0);
+        Employee bob = mockEmployeeList.get(1);
+        String missing = UUID.randomUUID().toString();
+        employeeServerMocks.mockPostApiCall(
+                "/api/v1/employee/lookup",
+                200,
+                objectMapper.writeValueAsString(List.of(alice.getId(), bob.getId(), UUID.fromString(missing))),
+                getEnclosedResponse("{\"found\": %s, \"notFound\": [\"%s\"]}"
+                        .formatted(objectMapper.writeValueAsString(List.of(alice, bob)), missing)));
+
+        mockMvc.perform(post("/lookup")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(List.of(
+                                alice.getId().toString(), bob.getId().toString(), alice.getId().toString(), missing))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found", hasSize(2)))
+                .andExpect(jsonPath("$.found[0].name").value(alice.getName()))
+                .andExpect(jsonPath("$.found[1].name").value(bob.getName()))
+                .andExpect(jsonPath("$.notFound[0]").value(missing));
+    }
+
     String getEnclosedResponse(String response) {
         return """
       {
@@ -22,6 +22,11 @@ public class EmployeeServerMocks {
                 .willReturn(aResponse().withStatus(status).withBody(response)));
     }
 
+    public void mockDeleteApiCall(String uri, Integer status, String response) {
+        employeeServerExtension.stubFor(
+                delete(urlEqualTo(uri)).willReturn(aResponse().withStatus(status).withBody(response)));
+    }
+
     public void mockDeleteApiCall(String uri, Integer status, String request, String response) {
         employeeServerExtension.stubFor(delete(urlEqualTo(uri))
                 .withRequestBody(equalToJson(request))
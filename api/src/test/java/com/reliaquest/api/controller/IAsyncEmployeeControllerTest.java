@@ -0,0 +1,47 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class IAsyncEmployeeControllerTest {
+
+    @Test
+    void shouldMirrorEveryRouteOfTheContract() throws NoSuchMethodException {
+        Method[] contract = IEmployeeController.class.getDeclaredMethods();
+
+        assertEquals(contract.length, IAsyncEmployeeController.class.getDeclaredMethods().length);
+        for (Method method : contract) {
+            Method deferred =
+                    IAsyncEmployeeController.class.getDeclaredMethod(method.getName(), method.getParameterTypes());
+            assertEquals(
+                    Arrays.asList(method.getAnnotations()), Arrays.asList(deferred.getAnnotations()), method.getName());
+            assertEquals(
+                    Arrays.deepToString(method.getParameterAnnotations()),
+                    Arrays.deepToString(deferred.getParameterAnnotations()),
+                    method.getName());
+            assertEquals(
+                    method.getGenericReturnType().getTypeName(),
+                    deferredType(deferred.getGenericReturnType()).getTypeName(),
+                    method.getName());
+        }
+    }
+
+    @Test
+    void shouldDeclareTheSameTypeParameters() {
+        assertEquals(
+                Arrays.toString(IEmployeeController.class.getTypeParameters()),
+                Arrays.toString(IAsyncEmployeeController.class.getTypeParameters()));
+    }
+
+    private static Type deferredType(Type returnType) {
+        ParameterizedType future = assertInstanceOf(ParameterizedType.class, returnType);
+        assertEquals(CompletableFuture.class, future.getRawType());
+        return future.getActualTypeArguments()[0];
+    }
+}
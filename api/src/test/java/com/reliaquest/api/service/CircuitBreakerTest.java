@@ -0,0 +1,67 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldOpenAfterConsecutiveFailuresAndFailFast() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(3, Duration.ofMinutes(1), meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.onFailure();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertFalse(circuitBreaker.tryAcquire());
+        APIException rejection = circuitBreaker.rejection();
+        assertEquals(503, rejection.statusCode);
+        assertTrue(rejection.retryAfter.compareTo(Duration.ofSeconds(50)) > 0);
+        assertEquals(1, meterRegistry.get("employee.client.circuit_breaker.state").gauge().value());
+        assertEquals(1, meterRegistry.get("employee.client.circuit_breaker.rejected").counter().count());
+    }
+
+    @Test
+    void shouldResetFailureCountOnSuccess() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofMinutes(1), meterRegistry);
+
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void shouldLetSingleTrialThroughOnceOpenDurationHasPassed() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ZERO, meterRegistry);
+        circuitBreaker.onFailure();
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void shouldReopenWhenTrialFails() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ZERO, meterRegistry);
+        circuitBreaker.onFailure();
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertEquals(2, meterRegistry.get("employee.client.circuit_breaker.opened").counter().count());
+    }
+}
@@ -8,34 +8,54 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.controller.request.DeleteEmployeeInput;
 import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.exception.APIException;
 import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class EmployeeApiClientTest {
 
     private HttpClient httpClient;
     private EmployeeAPIClient apiClient;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setup() {
         httpClient = mock(HttpClient.class);
         ObjectMapper objectMapper = new ObjectMapper();
         String baseUrl = "http://localhost:8080";
-        apiClient = new EmployeeAPIClient(httpClient, baseUrl, objectMapper);
+        meterRegistry = new SimpleMeterRegistry();
+        RequestScheduler requestScheduler = new RequestScheduler(
+                Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofSeconds(10), meterRegistry);
+        RetryPolicies retryPolicies = new RetryPolicies(3, 1, 1, Duration.ofMillis(1), Duration.ofMillis(50));
+        CircuitBreaker circuitBreaker = new CircuitBreaker(5, Duration.ofSeconds(30), meterRegistry);
+        apiClient = new EmployeeAPIClient(
+                httpClient, baseUrl, objectMapper, requestScheduler, retryPolicies, circuitBreaker, meterRegistry);
     }
 
     @Test
     void testGet_successfulResponse() {
         String jsonResponse = "{\"data\":{\"id\":\"596205c5-e4dc-4b0e-89dc-b2ec6dc758ea\",\"name\":\"Alice Smith\"}}";
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
-        when(httpResponse.statusCode()).thenReturn(200);
-        when(httpResponse.body()).thenReturn(jsonResponse);
+        HttpResponse<InputStream> httpResponse = mockResponse(200, jsonResponse);
 
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
@@ -49,12 +69,47 @@ class EmployeeApiClientTest {
         assertEquals("Alice Smith", employee.getName());
     }
 
+    @Test
+    void testGet_concurrentIdenticalRequestsShareOneUpstreamCall() {
+        String jsonResponse = "{\"data\":{\"id\":\"596205c5-e4dc-4b0e-89dc-b2ec6dc758ea\",\"name\":\"Alice Smith\"}}";
+        HttpResponse<InputStream> httpResponse = mockResponse(200, jsonResponse);
+
+        CompletableFuture<HttpResponse<InputStream>> upstream = new CompletableFuture<>();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(upstream);
+
+        String uri = "/employees/596205c5-e4dc-4b0e-89dc-b2ec6dc758ea";
+        CompletableFuture<Employee> first = apiClient.get(uri, new TypeReference<>() {});
+        CompletableFuture<Employee> second = apiClient.get(uri, new TypeReference<>() {});
+        CompletableFuture<Employee> third = apiClient.get(uri, new TypeReference<>() {});
+
+        upstream.complete(httpResponse);
+
+        assertEquals("Alice Smith", first.join().getName());
+        assertEquals("Alice Smith", second.join().getName());
+        assertEquals("Alice Smith", third.join().getName());
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertEquals(2, meterRegistry.get("employee.client.get.coalesced").counter().count());
+    }
+
+    @Test
+    void testGet_completedRequestIsNotReused() {
+        String jsonResponse = "{\"data\":{\"id\":\"596205c5-e4dc-4b0e-89dc-b2ec6dc758ea\",\"name\":\"Alice Smith\"}}";
+        HttpResponse<InputStream> httpResponse = mockResponse(200, jsonResponse);
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        String uri = "/employees/596205c5-e4dc-4b0e-89dc-b2ec6dc758ea";
+        apiClient.get(uri, new TypeReference<Employee>() {}).join();
+        apiClient.get(uri, new TypeReference<Employee>() {}).join();
+
+        verify(httpClient, times(2)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
     @Test
     void testPost_successfulResponse() {
         String jsonResponse = "{\"data\":{\"id\":\"987e6543-e21b-45d3-b456-123456789abc\",\"name\":\"Bob Johnson\"}}";
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
-        when(httpResponse.statusCode()).thenReturn(200);
-        when(httpResponse.body()).thenReturn(jsonResponse);
+        HttpResponse<InputStream> httpResponse = mockResponse(200, jsonResponse);
 
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
@@ -73,9 +128,7 @@ class EmployeeApiClientTest {
     @Test
     void testDelete_successfulResponse() {
         String jsonResponse = "{\"data\":true}";
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
-        when(httpResponse.statusCode()).thenReturn(200);
-        when(httpResponse.body()).thenReturn(jsonResponse);
+        HttpResponse<InputStream> httpResponse = mockResponse(200, jsonResponse);
 
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
@@ -86,11 +139,27 @@ class EmployeeApiClientTest {
         assertTrue(isDeleted);
     }
 
+    @Test
+    void testDelete_byIdReturnsDeletedEmployee() {
+        String jsonResponse =
+                "{\"data\":{\"id\":\"596205c5-e4dc-4b0e-89dc-b2ec6dc758ea\",\"employee_name\":\"Charlie Brown\"}}";
+        HttpResponse<InputStream> httpResponse = mockResponse(200, jsonResponse);
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        when(httpClient.sendAsync(request.capture(), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        Employee employee = apiClient
+                .delete("/employee/596205c5-e4dc-4b0e-89dc-b2ec6dc758ea", new TypeReference<Employee>() {})
+                .join();
+
+        assertEquals("Charlie Brown", employee.getName());
+        assertEquals("DELETE", request.getValue().method());
+        assertTrue(request.getValue().bodyPublisher().orElseThrow().contentLength() <= 0);
+    }
+
     @Test
     void testGet_unsuccessfulResponse() {
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
-        when(httpResponse.statusCode()).thenReturn(404);
-        when(httpResponse.body()).thenReturn("Employee not found");
+        HttpResponse<InputStream> httpResponse = mockResponse(404, "Employee not found");
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
 
@@ -102,9 +171,7 @@ class EmployeeApiClientTest {
 
     @Test
     void testPost_unsuccessfulResponse() {
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
-        when(httpResponse.statusCode()).thenReturn(400);
-        when(httpResponse.body()).thenReturn("Invalid input");
+        HttpResponse<InputStream> httpResponse = mockResponse(400, "Invalid input");
 
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
@@ -119,9 +186,7 @@ class EmployeeApiClientTest {
 
     @Test
     void testDelete_unsuccessfulResponse() {
-        HttpResponse httpResponse = mock(HttpResponse.class);
-        when(httpResponse.statusCode()).thenReturn(400);
-        when(httpResponse.body()).thenReturn("Invalid input");
+        HttpResponse<InputStream> httpResponse = mockResponse(400, "Invalid input");
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
 
@@ -129,4 +194,247 @@ class EmployeeApiClientTest {
 
         assertThrows(CompletionException.class, result::join);
     }
+
+    @Test
+    void testGet_skipsEnvelopeFieldsBeforeData() {
+        String jsonResponse =
+                "{\"status\":\"Successfully processed request.\",\"meta\":{\"data\":[1,2]},\"data\":{\"id\":\"596205c5-e4dc-4b0e-89dc-b2ec6dc758ea\",\"employee_name\":\"Alice Smith\",\"employee_salary\":1200}}";
+        HttpResponse<InputStream> httpResponse = mockResponse(200, jsonResponse);
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        Employee employee = apiClient
+                .get("/employees/596205c5-e4dc-4b0e-89dc-b2ec6dc758ea", new TypeReference<Employee>() {})
+                .join();
+
+        assertEquals("Alice Smith", employee.getName());
+        assertEquals(1200, employee.getSalary());
+    }
+
+    @Test
+    void testGet_nullDataIsDecodedAsNull() {
+        HttpResponse<InputStream> httpResponse = mockResponse(200, "{\"data\":null,\"status\":\"ok\"}");
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        Employee employee = apiClient
+                .get("/employees/596205c5-e4dc-4b0e-89dc-b2ec6dc758ea", new TypeReference<Employee>() {})
+                .join();
+
+        assertNull(employee);
+    }
+
+    @Test
+    void testGetVersioned_readsRosterVersionHeader() {
+        HttpResponse<InputStream> httpResponse = mockResponse(200, "{\"data\":[]}");
+        when(httpResponse.headers())
+                .thenReturn(HttpHeaders.of(Map.of("X-Roster-Version", List.of("42")), (name, value) -> true));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        Versioned<List<Employee>> roster = apiClient
+                .getVersioned("/employees", new TypeReference<List<Employee>>() {}, RequestScheduler.Priority.BULK)
+                .join();
+
+        assertTrue(roster.value().isEmpty());
+        assertEquals(42L, roster.version());
+    }
+
+    @Test
+    void testIterate_followsNextCursorHeaderLazily() {
+        HttpResponse<InputStream> firstPage = mockResponse(200, "{\"data\":[{\"name\":\"Alice Smith\"}]}");
+        when(firstPage.headers())
+                .thenReturn(HttpHeaders.of(Map.of("X-Next-Cursor", List.of("AAAAAAAAAAA")), (name, value) -> true));
+        HttpResponse<InputStream> lastPage = mockResponse(200, "{\"data\":[{\"name\":\"Bob Johnson\"}]}");
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(firstPage))
+                .thenReturn(CompletableFuture.completedFuture(lastPage));
+
+        Iterator<Employee> employees = apiClient.iterate(
+                "/employees", new TypeReference<List<Employee>>() {}, 1, RequestScheduler.Priority.BULK);
+
+        assertEquals("Alice Smith", employees.next().getName());
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertEquals("Bob Johnson", employees.next().getName());
+        assertFalse(employees.hasNext());
+
+        ArgumentCaptor<HttpRequest> requests = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).sendAsync(requests.capture(), any(HttpResponse.BodyHandler.class));
+        assertEquals("limit=1", requests.getAllValues().get(0).uri().getQuery());
+        assertEquals("limit=1&cursor=AAAAAAAAAAA", requests.getAllValues().get(1).uri().getQuery());
+    }
+
+    @Test
+    void testGet_decodesGzippedResponseAndCountsCompressedBytes() throws IOException {
+        byte[] compressed = gzip("{\"data\":{\"name\":\"Alice Smith\"}}");
+        HttpResponse<InputStream> httpResponse = mockResponse(200, "");
+        when(httpResponse.headers())
+                .thenReturn(HttpHeaders.of(Map.of("Content-Encoding", List.of("gzip")), (name, value) -> true));
+        when(httpResponse.body()).thenReturn(new ByteArrayInputStream(compressed));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        Employee employee = apiClient.get("/employees/1", new TypeReference<Employee>() {}).join();
+
+        assertEquals("Alice Smith", employee.getName());
+        assertEquals(
+                compressed.length,
+                meterRegistry
+                        .get("employee.client.bytes.received")
+                        .tag("encoding", "gzip")
+                        .counter()
+                        .count());
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).sendAsync(request.capture(), any(HttpResponse.BodyHandler.class));
+        assertEquals("gzip", request.getValue().headers().firstValue("Accept-Encoding").orElse(null));
+    }
+
+    @Test
+    void testGet_revalidatesWithETagAndReusesDecodedValueOnNotModified() {
+        HttpResponse<InputStream> full = mockResponse(200, "{\"data\":[{\"name\":\"Alice Smith\"}]}");
+        when(full.headers()).thenReturn(HttpHeaders.of(Map.of("ETag", List.of("\"42\"")), (name, value) -> true));
+        HttpResponse<InputStream> notModified = mockResponse(304, "");
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(full))
+                .thenReturn(CompletableFuture.completedFuture(notModified));
+
+        List<Employee> first = apiClient.get(RosterCache.ROSTER_URI, new TypeReference<List<Employee>>() {}).join();
+        List<Employee> second = apiClient.get(RosterCache.ROSTER_URI, new TypeReference<List<Employee>>() {}).join();
+
+        assertSame(first, second);
+        ArgumentCaptor<HttpRequest> requests = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).sendAsync(requests.capture(), any(HttpResponse.BodyHandler.class));
+        assertFalse(requests.getAllValues().get(0).headers().firstValue("If-None-Match").isPresent());
+        assertEquals(
+                "\"42\"",
+                requests.getAllValues().get(1).headers().firstValue("If-None-Match").orElse(null));
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.client.revalidations")
+                        .tag("result", "not_modified")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void testGet_doesNotRevalidateSingleEmployees() {
+        HttpResponse<InputStream> full = mockResponse(200, "{\"data\":{\"name\":\"Alice Smith\"}}");
+        when(full.headers()).thenReturn(HttpHeaders.of(Map.of("ETag", List.of("\"42\"")), (name, value) -> true));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(full));
+
+        String uri = RosterCache.ROSTER_URI + "/596205c5-e4dc-4b0e-89dc-b2ec6dc758ea";
+        apiClient.get(uri, new TypeReference<Employee>() {}).join();
+        apiClient.get(uri, new TypeReference<Employee>() {}).join();
+
+        ArgumentCaptor<HttpRequest> requests = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).sendAsync(requests.capture(), any(HttpResponse.BodyHandler.class));
+        assertFalse(requests.getAllValues().get(1).headers().firstValue("If-None-Match").isPresent());
+    }
+
+    @Test
+    void testGet_retriesServerErrorsUntilSuccessful() {
+        HttpResponse<InputStream> failed = mockResponse(503, "Service Unavailable");
+        HttpResponse<InputStream> succeeded = mockResponse(200, "{\"data\":{\"name\":\"Alice Smith\"}}");
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(failed))
+                .thenReturn(CompletableFuture.completedFuture(succeeded));
+
+        Employee employee = apiClient
+                .get("/employees/596205c5-e4dc-4b0e-89dc-b2ec6dc758ea", new TypeReference<Employee>() {})
+                .join();
+
+        assertEquals("Alice Smith", employee.getName());
+        verify(httpClient, times(2)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.client.retries")
+                        .tag("method", "GET")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void testGet_givesUpWhenRetryAfterExceedsMaximumDelay() {
+        HttpResponse<InputStream> limited = mockResponse(429, "Too Many Requests");
+        when(limited.headers()).thenReturn(HttpHeaders.of(Map.of("Retry-After", List.of("5")), (name, value) -> true));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(limited));
+
+        CompletableFuture<Employee> result =
+                apiClient.get("/employees/596205c5-e4dc-4b0e-89dc-b2ec6dc758ea", new TypeReference<>() {});
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertEquals(Duration.ofSeconds(5), ((APIException) exception.getCause()).retryAfter);
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void testPost_isNotRetried() {
+        HttpResponse<InputStream> httpResponse = mockResponse(503, "Service Unavailable");
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        CompletableFuture<Employee> result = apiClient.post(
+                "/employees",
+                new EmployeeCreationInput("Bob Johnson", 2500, 35, "DevOps Engineer", "bob.johnson@example.com"),
+                new TypeReference<Employee>() {});
+
+        assertThrows(CompletionException.class, result::join);
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void testStream_feedsEachNdjsonRecordToConsumer() {
+        HttpResponse<InputStream> httpResponse =
+                mockResponse(200, "{\"name\":\"Alice Smith\"}\n{\"name\":\"Bob Johnson\"}\n");
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        List<String> names = new ArrayList<>();
+        long count = apiClient
+                .stream(
+                        "/employees/export",
+                        new TypeReference<Employee>() {},
+                        employee -> names.add(employee.getName()),
+                        RequestScheduler.Priority.BULK)
+                .join();
+
+        assertEquals(2, count);
+        assertEquals(List.of("Alice Smith", "Bob Johnson"), names);
+    }
+
+    @Test
+    void testStream_unsuccessfulResponse() {
+        HttpResponse<InputStream> httpResponse = mockResponse(503, "Service Unavailable");
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        CompletableFuture<Long> result = apiClient.stream(
+                "/employees/export", new TypeReference<Employee>() {}, employee -> {}, RequestScheduler.Priority.BULK);
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertEquals(503, ((APIException) exception.getCause()).statusCode);
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<InputStream> mockResponse(int statusCode, String body) {
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.statusCode()).thenReturn(statusCode);
+        when(httpResponse.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        when(httpResponse.body())
+                .thenAnswer(invocation -> new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        return httpResponse;
+    }
 }
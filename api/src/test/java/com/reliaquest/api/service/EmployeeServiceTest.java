@@ -2,15 +2,22 @@ package com.reliaquest.api.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.reliaquest.api.controller.request.DeleteEmployeeInput;
 import com.reliaquest.api.controller.request.EmployeeCreationInput;
 import com.reliaquest.api.exception.APIException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeLookup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -18,10 +25,16 @@ import org.mockito.Mockito;
 
 class EmployeeServiceTest {
     private static final String EMPLOYEE_SERVER_API_PATH = "/api/v1/employee";
+    private static final String LOOKUP_PATH = "/api/v1/employee/lookup";
 
     private final EmployeeAPIClient employeeApiClient = Mockito.mock(EmployeeAPIClient.class);
 
-    private final EmployeeService employeeService = new EmployeeService(employeeApiClient);
+    private final EmployeeService employeeService = new EmployeeService(
+            employeeApiClient,
+            new RosterCache(employeeApiClient, Duration.ofSeconds(30), false, 0, new SimpleMeterRegistry()),
+            new EmployeeWriteBatcher(employeeApiClient, Duration.ZERO, 100, new SimpleMeterRegistry()),
+            2,
+            6);
 
     private List<Employee> mockEmployeeList;
 
@@ -43,37 +56,80 @@ class EmployeeServiceTest {
 
     @Test
     void shouldGetAllEmployeesFromServer() {
-        when(employeeApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+        when(employeeApiClient.getVersioned(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Versioned<>(mockEmployeeList, 1L)));
 
         List<Employee> receivedEmployees = employeeService.getAllEmployees();
 
         assertEquals(5, receivedEmployees.size());
 
-        verify(employeeApiClient, times(1)).get(argumentCaptor.capture(), any());
+        verify(employeeApiClient, times(1))
+                .getVersioned(argumentCaptor.capture(), any(), eq(RequestScheduler.Priority.BULK));
         assertEquals(EMPLOYEE_SERVER_API_PATH, argumentCaptor.getValue());
     }
 
     @Test
     void shouldReturnEmployeesWhenNameContainsSearchString() {
         String searchString = "li";
-        when(employeeApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+        when(employeeApiClient.getVersioned(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Versioned<>(mockEmployeeList, 1L)));
 
         List<Employee> receivedEmployees = employeeService.getEmployeesByNameSearch(searchString);
 
         assertEquals(2, receivedEmployees.size());
-        verify(employeeApiClient, times(1)).get(argumentCaptor.capture(), any());
+        verify(employeeApiClient, times(1))
+                .getVersioned(argumentCaptor.capture(), any(), eq(RequestScheduler.Priority.BULK));
         assertEquals(EMPLOYEE_SERVER_API_PATH, argumentCaptor.getValue());
     }
 
     @Test
     void itShouldReturnHighestSalaryOfEmployee() {
-        when(employeeApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+        when(employeeApiClient.getVersioned(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Versioned<>(mockEmployeeList, 1L)));
+        employeeService.getAllEmployees();
 
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
 
         assertEquals(3000, highestSalary);
-        verify(employeeApiClient, times(1)).get(argumentCaptor.capture(), any());
+        verify(employeeApiClient, times(1))
+                .getVersioned(argumentCaptor.capture(), any(), eq(RequestScheduler.Priority.BULK));
         assertEquals(EMPLOYEE_SERVER_API_PATH, argumentCaptor.getValue());
+        verify(employeeApiClient, never()).stream(any(), any(), any(), any());
+    }
+
+    @Test
+    void itShouldReturnHighestSalaryFromServerStatisticsWhenRosterIsNotCached() {
+        when(employeeApiClient.<SalaryStatistics>get(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new SalaryStatistics(5, 10700, 3000)));
+
+        Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
+
+        assertEquals(3000, highestSalary);
+        verify(employeeApiClient, times(1)).get(argumentCaptor.capture(), any());
+        assertEquals(EMPLOYEE_SERVER_API_PATH + "/salary/statistics", argumentCaptor.getValue());
+        verify(employeeApiClient, never()).getVersioned(any(), any(), any());
+    }
+
+    @Test
+    void itShouldStreamHighestSalaryFromExportWhenServerHasNoStatistics() {
+        when(employeeApiClient.get(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(404, "Not Found")));
+        when(employeeApiClient.<Employee>stream(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(2);
+            mockEmployeeList.forEach(consumer);
+            return CompletableFuture.completedFuture((long) mockEmployeeList.size());
+        });
+
+        Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
+
+        assertEquals(3000, highestSalary);
+        verify(employeeApiClient, times(1))
+                .stream(argumentCaptor.capture(), any(), any(), eq(RequestScheduler.Priority.BULK));
+        assertEquals(EMPLOYEE_SERVER_API_PATH + "/export", argumentCaptor.getValue());
+        verify(employeeApiClient, never()).getVersioned(any(), any(), any());
+
+        employeeService.getHighestSalaryOfEmployees();
+        verify(employeeApiClient, times(1)).get(any(), any());
     }
 
     @Test
@@ -102,7 +158,9 @@ class EmployeeServiceTest {
     @Test
     void shouldReturnTopKEmployeesBySalary() {
         Integer k = 2;
-        when(employeeApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+        when(employeeApiClient.getVersioned(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Versioned<>(mockEmployeeList, 1L)));
+        employeeService.getAllEmployees();
 
         List<String> receivedEmployees = employeeService.getTopEmployeesBySalary(k);
 
@@ -110,8 +168,24 @@ class EmployeeServiceTest {
         assertEquals("Diana Prince", receivedEmployees.get(0)); // highest salary
         assertEquals("Bob Johnson", receivedEmployees.get(1)); // second highest salary
 
-        verify(employeeApiClient, times(1)).get(argumentCaptor.capture(), any());
+        verify(employeeApiClient, times(1))
+                .getVersioned(argumentCaptor.capture(), any(), eq(RequestScheduler.Priority.BULK));
         assertEquals(EMPLOYEE_SERVER_API_PATH, argumentCaptor.getValue());
+        verify(employeeApiClient, never()).get(any(), any());
+    }
+
+    @Test
+    void shouldReturnTopKEmployeesBySalaryFromServerWhenRosterIsNotCached() {
+        when(employeeApiClient.<List<Employee>>get(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        List.of(mockEmployeeList.get(3), mockEmployeeList.get(1))));
+
+        List<String> receivedEmployees = employeeService.getTopEmployeesBySalary(2);
+
+        assertEquals(List.of("Diana Prince", "Bob Johnson"), receivedEmployees);
+        verify(employeeApiClient, times(1)).get(argumentCaptor.capture(), any());
+        assertEquals(EMPLOYEE_SERVER_API_PATH + "/salary/top?limit=2", argumentCaptor.getValue());
+        verify(employeeApiClient, never()).getVersioned(any(), any(), any());
     }
 
     @Test
@@ -145,29 +219,117 @@ class EmployeeServiceTest {
         Employee mockEmployee =
                 new Employee(UUID.randomUUID(), "Alice", 1200, 30, "QA Engineer", "alice.smith@gmail.com");
 
-        when(employeeApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployee));
-        when(employeeApiClient.delete(any(), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(employeeApiClient.<Employee>delete(any(), any(TypeReference.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockEmployee));
 
         String deletedEmployeeName =
                 employeeService.deleteEmployee(mockEmployee.getId().toString());
 
         assertEquals(mockEmployee.getName(), deletedEmployeeName);
-        verify(employeeApiClient, times(1)).get(any(), any());
+        verify(employeeApiClient, times(1)).delete(argumentCaptor.capture(), any(TypeReference.class));
+        assertEquals(EMPLOYEE_SERVER_API_PATH + "/" + mockEmployee.getId(), argumentCaptor.getValue());
+        verify(employeeApiClient, never()).get(any(), any());
+        verify(employeeApiClient, never()).delete(any(), any(DeleteEmployeeInput.class));
+    }
+
+    @Test
+    void itShouldThrowExceptionIfEmployeeIsNotDeleted() {
+        when(employeeApiClient.<Employee>delete(any(), any(TypeReference.class)))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(404, "Not Found")));
+
+        APIException exception = assertThrows(
+                APIException.class, () -> employeeService.deleteEmployee("abcbc123-4567-890a-bcde-fghij123456789"));
+        assertEquals(400, exception.statusCode);
+        verify(employeeApiClient, never()).delete(any(), any(DeleteEmployeeInput.class));
+    }
+
+    @Test
+    void itShouldDeleteByNameWhenServerCannotDeleteById() {
+        Employee mockEmployee =
+                new Employee(UUID.randomUUID(), "Alice", 1200, 30, "QA Engineer", "alice.smith@gmail.com");
+        when(employeeApiClient.<Employee>delete(any(), any(TypeReference.class)))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(405, "Method Not Allowed")));
+        when(employeeApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployee));
+        when(employeeApiClient.delete(any(), any(DeleteEmployeeInput.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        assertEquals("Alice", employeeService.deleteEmployee(mockEmployee.getId().toString()));
+        assertEquals("Alice", employeeService.deleteEmployee(mockEmployee.getId().toString()));
+
+        verify(employeeApiClient, times(1)).delete(any(), any(TypeReference.class));
         ArgumentCaptor<DeleteEmployeeInput> deleteEmployeeInputArgumentCaptor =
                 ArgumentCaptor.forClass(DeleteEmployeeInput.class);
-        verify(employeeApiClient, times(1))
+        verify(employeeApiClient, times(2))
                 .delete(argumentCaptor.capture(), deleteEmployeeInputArgumentCaptor.capture());
         assertEquals(EMPLOYEE_SERVER_API_PATH, argumentCaptor.getValue());
         assertEquals("Alice", deleteEmployeeInputArgumentCaptor.getValue().name());
     }
 
     @Test
-    void itShouldThrowExceptionIfEmployeeIsNotDeleted() {
-        when(employeeApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
-        when(employeeApiClient.delete(any(), any())).thenReturn(CompletableFuture.completedFuture(false));
+    void itShouldNotBlockWhileUpstreamCallIsPending() {
+        Employee mockEmployee =
+                new Employee(UUID.randomUUID(), "Alice", 1200, 30, "QA Engineer", "alice.smith@gmail.com");
+        CompletableFuture<Employee> pending = new CompletableFuture<>();
+        when(employeeApiClient.<Employee>delete(any(), any(TypeReference.class))).thenReturn(pending);
 
-        assertThrows(
-                APIException.class, () -> employeeService.deleteEmployee("abcbc123-4567-890a-bcde-fghij123456789"));
-        verify(employeeApiClient, times(0)).delete(any(), any());
+        CompletableFuture<String> deleted = employeeService.deleteEmployeeAsync(mockEmployee.getId().toString());
+
+        assertFalse(deleted.isDone());
+        pending.complete(mockEmployee);
+        assertEquals("Alice", deleted.join());
+    }
+
+    @Test
+    void itShouldLookUpDistinctIdsInChunks() {
+        Employee alice = mockEmployeeList.get(0);
+        Employee bob = mockEmployeeList.get(1);
+        Employee charlie = mockEmployeeList.get(2);
+        String missing = UUID.randomUUID().toString();
+        when(employeeApiClient.<EmployeeLookup>post(eq(LOOKUP_PATH), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new EmployeeLookup(List.of(bob, alice), List.of())))
+                .thenReturn(CompletableFuture.completedFuture(new EmployeeLookup(List.of(charlie), List.of(missing))));
+
+        EmployeeLookup lookup = employeeService.lookupEmployees(List.of(
+                alice.getId().toString(),
+                bob.getId().toString().toUpperCase(),
+                alice.getId().toString(),
+                "not-a-uuid",
+                charlie.getId().toString(),
+                missing));
+
+        assertEquals(List.of(alice, bob, charlie), lookup.found());
+        assertEquals(List.of("not-a-uuid", missing), lookup.notFound());
+        ArgumentCaptor<Object> chunks = ArgumentCaptor.forClass(Object.class);
+        verify(employeeApiClient, times(2)).post(eq(LOOKUP_PATH), chunks.capture(), any());
+        assertEquals(List.of(alice.getId(), bob.getId()), chunks.getAllValues().get(0));
+        assertEquals(List.of(charlie.getId(), UUID.fromString(missing)), chunks.getAllValues().get(1));
+        verify(employeeApiClient, never()).get(any(), any());
+    }
+
+    @Test
+    void itShouldRejectLookupOfMoreIdsThanAllowed() {
+        List<String> ids = Stream.generate(() -> UUID.randomUUID().toString()).limit(7).toList();
+
+        APIException exception = assertThrows(APIException.class, () -> employeeService.lookupEmployees(ids));
+
+        assertEquals(400, exception.statusCode);
+        verify(employeeApiClient, never()).post(any(), any(), any());
+    }
+
+    @Test
+    void itShouldLookUpIdsInRosterWhenServerHasNoLookupEndpoint() {
+        Employee bob = mockEmployeeList.get(1);
+        String missing = UUID.randomUUID().toString();
+        when(employeeApiClient.<EmployeeLookup>post(eq(LOOKUP_PATH), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(405, "Method Not Allowed")));
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Versioned<>(mockEmployeeList, null)));
+
+        EmployeeLookup lookup = employeeService.lookupEmployees(List.of(bob.getId().toString(), missing));
+        employeeService.lookupEmployees(List.of(bob.getId().toString()));
+
+        assertEquals(List.of(bob), lookup.found());
+        assertEquals(List.of(missing), lookup.notFound());
+        verify(employeeApiClient, times(1)).post(eq(LOOKUP_PATH), any(), any());
     }
 }
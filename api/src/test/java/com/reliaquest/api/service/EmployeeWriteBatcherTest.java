@@ -0,0 +1,115 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.exception.APIException;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class EmployeeWriteBatcherTest {
+    private final EmployeeAPIClient employeeApiClient = Mockito.mock(EmployeeAPIClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmployeeWriteBatcher employeeWriteBatcher;
+
+    private final EmployeeCreationInput alice =
+            new EmployeeCreationInput("Alice Smith", 1200, 30, "QA Engineer", "alice.smith@gmail.com");
+    private final EmployeeCreationInput bob =
+            new EmployeeCreationInput("Bob Johnson", 2500, 35, "DevOps Engineer", "bob.johnson@gmail.com");
+    private final EmployeeCreationInput carol =
+            new EmployeeCreationInput("Carol White", -1, 41, "CTO", "carol.white@gmail.com");
+
+    @AfterEach
+    void tearDown() {
+        employeeWriteBatcher.shutdown();
+    }
+
+    @Test
+    void shouldSendFullBatchInOneRequestAndCompleteEachCaller() {
+        employeeWriteBatcher = new EmployeeWriteBatcher(employeeApiClient, Duration.ofMinutes(1), 3, meterRegistry);
+        when(employeeApiClient.<List<BatchResult<Employee>>>post(
+                        eq(EmployeeWriteBatcher.BATCH_CREATE_URI), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(
+                        new BatchResult<>(2, null, "salary: must be greater than 0"),
+                        new BatchResult<>(0, Employee.newEmployee(alice), null),
+                        new BatchResult<>(1, Employee.newEmployee(bob), null))));
+
+        CompletableFuture<Employee> first = employeeWriteBatcher.create(alice);
+        CompletableFuture<Employee> second = employeeWriteBatcher.create(bob);
+        assertFalse(first.isDone());
+        CompletableFuture<Employee> third = employeeWriteBatcher.create(carol);
+
+        assertEquals("Alice Smith", first.join().getName());
+        assertEquals("Bob Johnson", second.join().getName());
+        CompletionException exception = assertThrows(CompletionException.class, third::join);
+        APIException apiException = assertInstanceOf(APIException.class, exception.getCause());
+        assertEquals(400, apiException.statusCode);
+
+        ArgumentCaptor<Object> body = ArgumentCaptor.forClass(Object.class);
+        verify(employeeApiClient, times(1)).post(eq(EmployeeWriteBatcher.BATCH_CREATE_URI), body.capture(), any());
+        assertEquals(List.of(alice, bob, carol), body.getValue());
+        verify(employeeApiClient, never()).post(eq(EmployeeWriteBatcher.CREATE_URI), any(), any());
+        assertEquals(3, meterRegistry.get("employee.client.batch.creates").counter().count());
+    }
+
+    @Test
+    void shouldSendLoneCreateAsPlainCreateWhenWindowCloses() {
+        employeeWriteBatcher = new EmployeeWriteBatcher(employeeApiClient, Duration.ofMillis(5), 100, meterRegistry);
+        when(employeeApiClient.<Employee>post(eq(EmployeeWriteBatcher.CREATE_URI), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(Employee.newEmployee(alice)));
+
+        assertEquals("Alice Smith", employeeWriteBatcher.create(alice).join().getName());
+
+        verify(employeeApiClient, times(1)).post(eq(EmployeeWriteBatcher.CREATE_URI), eq(alice), any());
+        verify(employeeApiClient, never()).post(eq(EmployeeWriteBatcher.BATCH_CREATE_URI), any(), any());
+    }
+
+    @Test
+    void shouldCreateOneByOneWhenServerHasNoBatchEndpoint() {
+        employeeWriteBatcher = new EmployeeWriteBatcher(employeeApiClient, Duration.ofMinutes(1), 2, meterRegistry);
+        when(employeeApiClient.<List<BatchResult<Employee>>>post(
+                        eq(EmployeeWriteBatcher.BATCH_CREATE_URI), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(405, "Method Not Allowed")));
+        when(employeeApiClient.<Employee>post(eq(EmployeeWriteBatcher.CREATE_URI), any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        Employee.newEmployee(invocation.<EmployeeCreationInput>getArgument(1))));
+
+        CompletableFuture<Employee> first = employeeWriteBatcher.create(alice);
+        CompletableFuture<Employee> second = employeeWriteBatcher.create(bob);
+        assertEquals("Alice Smith", first.join().getName());
+        assertEquals("Bob Johnson", second.join().getName());
+
+        employeeWriteBatcher.create(alice).join();
+        employeeWriteBatcher.create(bob).join();
+
+        verify(employeeApiClient, times(1)).post(eq(EmployeeWriteBatcher.BATCH_CREATE_URI), any(), any());
+        verify(employeeApiClient, times(4)).post(eq(EmployeeWriteBatcher.CREATE_URI), any(), any());
+    }
+
+    @Test
+    void shouldFailEveryCallerWhenBatchRequestFails() {
+        employeeWriteBatcher = new EmployeeWriteBatcher(employeeApiClient, Duration.ofMinutes(1), 2, meterRegistry);
+        when(employeeApiClient.<List<BatchResult<Employee>>>post(
+                        eq(EmployeeWriteBatcher.BATCH_CREATE_URI), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(429, "Too Many Requests")));
+
+        CompletableFuture<Employee> first = employeeWriteBatcher.create(alice);
+        CompletableFuture<Employee> second = employeeWriteBatcher.create(bob);
+
+        CompletionException exception = assertThrows(CompletionException.class, first::join);
+        assertEquals(429, assertInstanceOf(APIException.class, exception.getCause()).statusCode);
+        assertTrue(second.isCompletedExceptionally());
+        verify(employeeApiClient, never()).post(eq(EmployeeWriteBatcher.CREATE_URI), any(), any());
+    }
+}
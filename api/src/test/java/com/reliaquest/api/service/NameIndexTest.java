@@ -0,0 +1,72 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+    private final List<Employee> employees = List.of(
+            new Employee(UUID.randomUUID(), "Alice Smith", 1200, 30, "QA Engineer", "alice.smith@gmail.com"),
+            new Employee(UUID.randomUUID(), "Bob Johnson", 2500, 35, "DevOps Engineer", "bob.johnson@gmail.com"),
+            new Employee(UUID.randomUUID(), "Charlie Brown", 1800, 28, "Backend Developer", "charlie.brown@gmail.com"),
+            new Employee(UUID.randomUUID(), null, 3000, 32, "Frontend Developer", "unknown@gmail.com"),
+            new Employee(UUID.randomUUID(), "Ethan Hunt", 2200, 40, "Security Analyst", "ethan.hunt@gmail.com"),
+            new Employee(UUID.randomUUID(), "Anna Nanna", 1500, 26, "Support Engineer", "anna.nanna@gmail.com"));
+
+    private final NameIndex nameIndex = NameIndex.of(employees);
+
+    @Test
+    void shouldFindSubstringMatchesThroughTrigramIndexIgnoringCase() {
+        assertEquals(List.of("Alice Smith"), names(nameIndex.search("LIC")));
+        assertEquals(List.of("Bob Johnson"), names(nameIndex.search("b JOHN")));
+    }
+
+    @Test
+    void shouldVerifyCandidatesSharingAllTrigrams() {
+        // every trigram of "nnann" occurs in "Anna Nanna", but the query itself does not
+        assertTrue(nameIndex.search("nnann").isEmpty());
+        assertEquals(List.of("Anna Nanna"), names(nameIndex.search("a nann")));
+    }
+
+    @Test
+    void shouldScanForShortQueries() {
+        assertEquals(List.of("Alice Smith", "Charlie Brown"), names(nameIndex.search("Li")));
+        assertEquals(List.of("Bob Johnson", "Charlie Brown"), names(nameIndex.search("b")));
+    }
+
+    @Test
+    void shouldReturnNoMatchesForUnknownTrigram() {
+        assertTrue(nameIndex.search("xyz").isEmpty());
+    }
+
+    @Test
+    void shouldMatchFullIndexAfterChangeFeed() {
+        RosterSlots slots = RosterSlots.of(employees);
+        RosterSlots.Update update = slots.applying(List.of(
+                new RosterChange(1, RosterChange.Type.DELETED, employees.get(0)),
+                new RosterChange(
+                        2,
+                        RosterChange.Type.CREATED,
+                        new Employee(employees.get(1).getId(), "Rob Jonas", 2500, 35, "DevOps", "rob@gmail.com")),
+                new RosterChange(
+                        3,
+                        RosterChange.Type.CREATED,
+                        new Employee(UUID.randomUUID(), "Alicia Keys", 2100, 41, "QA Engineer", "alicia@gmail.com"))));
+        NameIndex updated = NameIndex.of(slots).updated(update);
+
+        assertEquals(List.of("Alicia Keys"), names(updated.search("lic")));
+        assertTrue(updated.search("john").isEmpty());
+        assertEquals(List.of("Rob Jonas"), names(updated.search("b jo")));
+        assertEquals(List.of("Rob Jonas", "Charlie Brown"), names(updated.search("b")));
+        for (String query : List.of("an", "nna", "rown", "hunt", "a")) {
+            assertEquals(NameIndex.of(update.slots().employees()).search(query), updated.search(query), query);
+        }
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getName).toList();
+    }
+}
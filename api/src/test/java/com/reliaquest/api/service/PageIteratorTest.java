@@ -0,0 +1,58 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+
+class PageIteratorTest {
+    private final Map<String, Versioned<List<String>>> pages = Map.of(
+            "first", new Versioned<>(List.of("Alice", "Bob"), 1L, "i1", "c1"),
+            "c1", new Versioned<>(List.of(), 2L, "i1", "c2"),
+            "c2", new Versioned<>(List.of("Charlie"), 3L, "i1", null));
+    private final List<String> requestedCursors = new ArrayList<>();
+
+    @Test
+    void shouldWalkAllPagesSkippingEmptyOnes() {
+        Iterator<String> iterator = new PageIterator<>(this::fetch);
+
+        List<String> names = new ArrayList<>();
+        iterator.forEachRemaining(names::add);
+
+        assertEquals(List.of("Alice", "Bob", "Charlie"), names);
+        assertEquals(List.of("first", "c1", "c2"), requestedCursors);
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void shouldFetchNextPageOnlyWhenCurrentPageIsConsumed() {
+        Iterator<String> iterator = new PageIterator<>(this::fetch);
+
+        assertEquals("Alice", iterator.next());
+        assertEquals("Bob", iterator.next());
+
+        assertEquals(List.of("first"), requestedCursors);
+    }
+
+    @Test
+    void shouldReportVersionAndInstanceOfFirstPage() {
+        PageIterator<String> iterator = new PageIterator<>(this::fetch);
+        assertNull(iterator.version());
+
+        iterator.forEachRemaining(name -> {});
+
+        assertEquals(1L, iterator.version());
+        assertEquals("i1", iterator.instance());
+    }
+
+    private Versioned<List<String>> fetch(String cursor) {
+        String key = Objects.isNull(cursor) ? "first" : cursor;
+        requestedCursors.add(key);
+        return pages.get(key);
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestSchedulerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> dispatched = new CopyOnWriteArrayList<>();
+    private RequestScheduler requestScheduler;
+
+    @AfterEach
+    void tearDown() {
+        requestScheduler.shutdown();
+    }
+
+    @Test
+    void shouldLearnLimitAndDispatchInteractiveRequestsBeforeBulkOnceWindowReopens() {
+        requestScheduler = new RequestScheduler(
+                Duration.ofMillis(200), Duration.ofMillis(50), Duration.ofSeconds(5), meterRegistry);
+
+        submit(RequestScheduler.Priority.INTERACTIVE, "first", 200).join();
+        submit(RequestScheduler.Priority.INTERACTIVE, "second", 200).join();
+        submit(RequestScheduler.Priority.INTERACTIVE, "limited", 429).join();
+
+        CompletableFuture<HttpResponse<String>> bulk = submit(RequestScheduler.Priority.BULK, "bulk", 200);
+        CompletableFuture<HttpResponse<String>> lookup = submit(RequestScheduler.Priority.INTERACTIVE, "lookup", 200);
+        assertEquals(List.of("first", "second", "limited"), dispatched);
+
+        CompletableFuture.allOf(bulk, lookup).join();
+
+        assertEquals(List.of("first", "second", "limited", "lookup", "bulk"), dispatched);
+        assertEquals(2, meterRegistry.get("employee.client.scheduler.limit").gauge().value());
+    }
+
+    @Test
+    void shouldHoldRequestsOnceLearnedBudgetIsSpent() {
+        requestScheduler = new RequestScheduler(
+                Duration.ofMillis(200), Duration.ofMillis(50), Duration.ofSeconds(5), meterRegistry);
+
+        submit(RequestScheduler.Priority.INTERACTIVE, "first", 200).join();
+        submit(RequestScheduler.Priority.INTERACTIVE, "limited", 429).join();
+        submit(RequestScheduler.Priority.INTERACTIVE, "probe", 200).join();
+
+        CompletableFuture<HttpResponse<String>> held = submit(RequestScheduler.Priority.INTERACTIVE, "held", 200);
+
+        assertFalse(held.isDone());
+        assertEquals(List.of("first", "limited", "probe"), dispatched);
+        held.join();
+        assertEquals(1, meterRegistry.get("employee.client.scheduler.rate_limited").counter().count());
+    }
+
+    @Test
+    void shouldFailFastWhenRetryAfterExceedsMaximumWait() {
+        requestScheduler = new RequestScheduler(
+                Duration.ofMillis(200), Duration.ofMillis(50), Duration.ofSeconds(1), meterRegistry);
+        HttpResponse<String> limited = response(429);
+        when(limited.headers())
+                .thenReturn(HttpHeaders.of(Map.of("Retry-After", List.of("120")), (name, value) -> true));
+
+        requestScheduler
+                .submit(RequestScheduler.Priority.INTERACTIVE, () -> CompletableFuture.completedFuture(limited))
+                .join();
+        CompletableFuture<HttpResponse<String>> rejected = submit(RequestScheduler.Priority.BULK, "rejected", 200);
+
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertEquals(429, ((APIException) exception.getCause()).statusCode);
+        assertTrue(dispatched.isEmpty());
+    }
+
+    @Test
+    void shouldNotSendRequestsWhoseCallerWasAlreadyRejected() {
+        requestScheduler = new RequestScheduler(
+                Duration.ofMillis(200), Duration.ofMillis(50), Duration.ZERO, meterRegistry);
+
+        List<CompletableFuture<HttpResponse<String>>> requests = IntStream.range(0, 500)
+                .mapToObj(i -> submit(RequestScheduler.Priority.INTERACTIVE, "request", 200))
+                .toList();
+        CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+                .exceptionally(ex -> null)
+                .join();
+
+        long answered = requests.stream().filter(request -> !request.isCompletedExceptionally()).count();
+        assertEquals(answered, dispatched.size());
+        assertEquals(500 - answered, meterRegistry.get("employee.client.scheduler.rejected").counter().count());
+    }
+
+    private CompletableFuture<HttpResponse<String>> submit(
+            RequestScheduler.Priority priority, String name, int statusCode) {
+        return requestScheduler.submit(priority, () -> {
+            dispatched.add(name);
+            return CompletableFuture.completedFuture(response(statusCode));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> response(int statusCode) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        return response;
+    }
+}
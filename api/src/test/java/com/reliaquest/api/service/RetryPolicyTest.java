@@ -0,0 +1,59 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.reliaquest.api.exception.APIException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+    private final RetryPolicy retryPolicy = new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(2));
+
+    @Test
+    void shouldRetryRateLimitingServerErrorsAndConnectionFailures() {
+        assertNotEquals(RetryPolicy.NO_RETRY, delay(1, 0, new APIException(429, "Too Many Requests")));
+        assertNotEquals(RetryPolicy.NO_RETRY, delay(1, 0, new APIException(502, "Bad Gateway")));
+        assertNotEquals(
+                RetryPolicy.NO_RETRY, delay(1, 0, new CompletionException(new ConnectException("Connection refused"))));
+    }
+
+    @Test
+    void shouldNotRetryClientErrorsMalformedResponsesOrExhaustedAttempts() {
+        assertEquals(RetryPolicy.NO_RETRY, delay(1, 0, new APIException(404, "Not Found")));
+        assertEquals(
+                RetryPolicy.NO_RETRY, delay(1, 0, new CompletionException(new JsonParseException(null, "bad json"))));
+        assertEquals(RetryPolicy.NO_RETRY, delay(3, 0, new APIException(503, "Service Unavailable")));
+        assertEquals(
+                RetryPolicy.NO_RETRY, RetryPolicy.none().delayBeforeRetryNanos(1, 0, new APIException(503, "down")));
+    }
+
+    @Test
+    void shouldKeepDecorrelatedJitterBetweenBaseDelayAndThreeTimesPreviousDelayCappedAtMaximum() {
+        long previous = Duration.ofMillis(400).toNanos();
+        for (int i = 0; i < 1000; i++) {
+            long delay = delay(2, previous, new APIException(503, "Service Unavailable"));
+            assertTrue(delay >= Duration.ofMillis(100).toNanos());
+            assertTrue(delay <= Duration.ofMillis(1200).toNanos());
+        }
+
+        long capped = delay(2, Duration.ofSeconds(10).toNanos(), new APIException(503, "Service Unavailable"));
+        assertTrue(capped <= Duration.ofSeconds(2).toNanos());
+        assertEquals(Duration.ofMillis(100).toNanos(), delay(1, 0, new APIException(503, "Service Unavailable")));
+    }
+
+    @Test
+    void shouldHonourRetryAfterOnlyWithinMaximumDelay() {
+        assertEquals(
+                Duration.ofSeconds(1).toNanos(),
+                delay(1, 0, new APIException(429, "Too Many Requests", Duration.ofSeconds(1))));
+        assertEquals(
+                RetryPolicy.NO_RETRY, delay(1, 0, new APIException(429, "Too Many Requests", Duration.ofSeconds(30))));
+    }
+
+    private long delay(int attempt, long previousDelayNanos, Throwable failure) {
+        return retryPolicy.delayBeforeRetryNanos(attempt, previousDelayNanos, failure);
+    }
+}
@@ -0,0 +1,307 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exception.APIException;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class RosterCacheTest {
+    private final EmployeeAPIClient employeeApiClient = Mockito.mock(EmployeeAPIClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<Employee> firstRoster =
+            List.of(new Employee(UUID.randomUUID(), "Alice Smith", 1200, 30, "QA Engineer", "alice.smith@gmail.com"));
+    private final List<Employee> secondRoster = List.of(
+            new Employee(UUID.randomUUID(), "Alice Smith", 1200, 30, "QA Engineer", "alice.smith@gmail.com"),
+            new Employee(UUID.randomUUID(), "Bob Johnson", 2500, 35, "DevOps Engineer", "bob.johnson@gmail.com"));
+
+    @Test
+    void shouldServeFreshSnapshotWithoutCallingServerAgain() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ofMinutes(5), false, 0, meterRegistry);
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any())).thenReturn(roster(firstRoster, null));
+
+        RosterSnapshot first = rosterCache.get();
+        RosterSnapshot second = rosterCache.get();
+
+        assertSame(first, second);
+        assertEquals(1, first.employees().size());
+        verify(employeeApiClient, times(1)).getVersioned(any(), any(), any());
+        assertEquals(1, requests("miss"));
+        assertEquals(1, requests("hit"));
+    }
+
+    @Test
+    void shouldServeStaleSnapshotWhileSingleRefreshIsInFlight() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ZERO, false, 0, meterRegistry);
+        CompletableFuture<Versioned<List<Employee>>> refresh = new CompletableFuture<>();
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any()))
+                .thenReturn(roster(firstRoster, null))
+                .thenReturn(refresh);
+
+        RosterSnapshot first = rosterCache.get();
+        assertSame(first, rosterCache.get());
+        assertSame(first, rosterCache.get());
+        verify(employeeApiClient, times(2)).getVersioned(any(), any(), any());
+
+        refresh.complete(new Versioned<>(secondRoster, null));
+
+        RosterSnapshot refreshed = rosterCache.get();
+        assertEquals(2, refreshed.employees().size());
+        assertTrue(refreshed.version() > first.version());
+        assertEquals(3, requests("stale"));
+    }
+
+    @Test
+    void shouldKeepLastGoodSnapshotWhenRefreshIsRateLimited() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ZERO, false, 0, meterRegistry);
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any()))
+                .thenReturn(roster(firstRoster, null))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(429, "Too Many Requests")));
+
+        RosterSnapshot first = rosterCache.get();
+
+        assertSame(first, rosterCache.get());
+        assertSame(first, rosterCache.get());
+        assertEquals(2, meterRegistry.get("employee.roster.cache.refresh.failures").counter().count());
+    }
+
+    @Test
+    void shouldPropagateErrorWhenNoSnapshotIsAvailable() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ofMinutes(5), false, 0, meterRegistry);
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(429, "Too Many Requests")));
+
+        CompletionException exception = assertThrows(CompletionException.class, rosterCache::get);
+        assertInstanceOf(APIException.class, exception.getCause());
+    }
+
+    @Test
+    void shouldRefreshAfterInvalidation() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ofMinutes(5), false, 0, meterRegistry);
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any()))
+                .thenReturn(roster(firstRoster, null))
+                .thenReturn(roster(secondRoster, null));
+
+        rosterCache.get();
+        rosterCache.invalidate();
+        rosterCache.get();
+
+        assertEquals(2, rosterCache.get().employees().size());
+        verify(employeeApiClient, times(2)).getVersioned(any(), any(), any());
+    }
+
+    @Test
+    void shouldPublishRefreshStartedBeforeInvalidationAsStale() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ofMinutes(5), false, 0, meterRegistry);
+        CompletableFuture<Versioned<List<Employee>>> refresh = new CompletableFuture<>();
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any()))
+                .thenReturn(roster(firstRoster, 1L))
+                .thenReturn(refresh)
+                .thenReturn(roster(secondRoster, 3L));
+
+        rosterCache.get();
+        rosterCache.invalidate();
+        rosterCache.get();
+        rosterCache.invalidate();
+        refresh.complete(new Versioned<>(firstRoster, 2L));
+
+        assertFalse(rosterCache.hasFreshSnapshot());
+        assertEquals(2L, rosterCache.get().version());
+        assertEquals(3L, rosterCache.get().version());
+        assertTrue(rosterCache.hasFreshSnapshot());
+        verify(employeeApiClient, times(3)).getVersioned(any(), any(), any());
+    }
+
+    @Test
+    void shouldNotRenewSnapshotWhenInvalidatedDuringUnchangedRefresh() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ofMinutes(5), false, 0, meterRegistry);
+        CompletableFuture<Versioned<List<Employee>>> refresh = new CompletableFuture<>();
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any()))
+                .thenReturn(roster(firstRoster, 1L))
+                .thenReturn(refresh)
+                .thenReturn(roster(secondRoster, 2L));
+
+        rosterCache.get();
+        rosterCache.invalidate();
+        rosterCache.get();
+        rosterCache.invalidate();
+        refresh.complete(new Versioned<>(firstRoster, 1L));
+
+        assertFalse(rosterCache.hasFreshSnapshot());
+        rosterCache.get();
+        assertEquals(2L, rosterCache.get().version());
+        assertEquals(1, meterRegistry.get("employee.roster.cache.refresh.unchanged").counter().count());
+    }
+
+    @Test
+    void shouldKeepSnapshotAndIndexesWhenServerReportsUnchangedVersion() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ZERO, false, 0, meterRegistry);
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any()))
+                .thenReturn(roster(firstRoster, 42L))
+                .thenReturn(roster(secondRoster, 42L))
+                .thenReturn(roster(secondRoster, 43L));
+
+        RosterSnapshot first = rosterCache.get();
+        assertSame(first, rosterCache.get());
+        RosterSnapshot renewed = rosterCache.get();
+
+        assertNotSame(first, renewed);
+        assertEquals(42L, renewed.version());
+        assertSame(first.employees(), renewed.employees());
+        assertSame(first.nameIndex(), renewed.nameIndex());
+        assertEquals(1, meterRegistry.get("employee.roster.cache.refresh.unchanged").counter().count());
+
+        rosterCache.get();
+        RosterSnapshot changed = rosterCache.get();
+        assertEquals(43L, changed.version());
+        assertEquals(2, changed.employees().size());
+    }
+
+    @Test
+    void shouldReplaceSnapshotWhenRestartedServerReissuesVersion() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ZERO, false, 0, meterRegistry);
+        when(employeeApiClient.<List<Employee>>getVersioned(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Versioned<>(firstRoster, 42L, "first", null)))
+                .thenReturn(CompletableFuture.completedFuture(new Versioned<>(secondRoster, 42L, "second", null)));
+
+        RosterSnapshot first = rosterCache.get();
+        rosterCache.get();
+        RosterSnapshot restarted = rosterCache.get();
+
+        assertEquals(42L, restarted.version());
+        assertEquals("second", restarted.instance());
+        assertNotSame(first.employees(), restarted.employees());
+        assertEquals(2, restarted.employees().size());
+        assertEquals(0, meterRegistry.get("employee.roster.cache.refresh.unchanged").counter().count());
+    }
+
+    @Test
+    void shouldAskForChangesOfTheInstanceThatIssuedTheVersion() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ZERO, true, 0, meterRegistry);
+        when(employeeApiClient.<List<Employee>>getVersioned(eq(RosterCache.ROSTER_URI), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Versioned<>(firstRoster, 7L, "first", null)))
+                .thenReturn(CompletableFuture.completedFuture(new Versioned<>(secondRoster, 7L, "second", null)));
+        when(employeeApiClient.<List<RosterChange>>getVersioned(
+                        eq(RosterCache.CHANGES_URI + "7&instance=first"), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(410, "Gone")));
+
+        rosterCache.get();
+        rosterCache.get();
+        RosterSnapshot resynced = rosterCache.get();
+
+        assertEquals("second", resynced.instance());
+        assertEquals(2, resynced.employees().size());
+        assertEquals(1, meterRegistry.get("employee.roster.cache.resyncs").counter().count());
+    }
+
+    @Test
+    void shouldApplyChangeFeedToSnapshotWhenIncremental() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ZERO, true, 0, meterRegistry);
+        Employee alice = secondRoster.get(0);
+        Employee bob = secondRoster.get(1);
+        when(employeeApiClient.<List<Employee>>getVersioned(eq(RosterCache.ROSTER_URI), any(), any()))
+                .thenReturn(roster(List.of(alice), 7L));
+        when(employeeApiClient.<List<RosterChange>>getVersioned(eq(RosterCache.CHANGES_URI + 7), any(), any()))
+                .thenReturn(changes(
+                        9L,
+                        new RosterChange(8L, RosterChange.Type.CREATED, bob),
+                        new RosterChange(9L, RosterChange.Type.DELETED, alice)));
+
+        rosterCache.get();
+        rosterCache.get();
+        RosterSnapshot synced = rosterCache.get();
+
+        assertEquals(9L, synced.version());
+        assertEquals(List.of(bob), synced.employees());
+        verify(employeeApiClient, times(1)).getVersioned(eq(RosterCache.ROSTER_URI), any(), any());
+        assertEquals(2, meterRegistry.get("employee.roster.cache.changes.applied").counter().count());
+    }
+
+    @Test
+    void shouldReadFirstRosterPageByPageAndSyncFromVersionOfFirstPage() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ZERO, true, 1, meterRegistry);
+        Employee alice = secondRoster.get(0);
+        Employee bob = secondRoster.get(1);
+        Versioned<List<Employee>> firstPage = new Versioned<>(List.of(alice), 7L, "first", "c1");
+        Versioned<List<Employee>> lastPage = new Versioned<>(List.of(bob), 8L, "first", null);
+        when(employeeApiClient.<Employee>iterate(eq(RosterCache.ROSTER_URI), any(), eq(1), any()))
+                .thenReturn(new PageIterator<>(cursor -> Objects.isNull(cursor) ? firstPage : lastPage));
+        when(employeeApiClient.<List<RosterChange>>getVersioned(
+                        eq(RosterCache.CHANGES_URI + "7&instance=first"), any(), any()))
+                .thenReturn(changes(8L, new RosterChange(8L, RosterChange.Type.CREATED, bob)));
+
+        RosterSnapshot first = rosterCache.get();
+        rosterCache.get();
+        RosterSnapshot synced = rosterCache.get();
+
+        assertEquals(7L, first.version());
+        assertEquals(List.of(alice, bob), first.employees());
+        assertEquals(8L, synced.version());
+        assertEquals(List.of(alice, bob), synced.employees());
+        verify(employeeApiClient, never()).getVersioned(eq(RosterCache.ROSTER_URI), any(), any());
+    }
+
+    @Test
+    void shouldFetchFullRosterWhenVersionAgedOutOfChangeLog() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ZERO, true, 0, meterRegistry);
+        when(employeeApiClient.<List<Employee>>getVersioned(eq(RosterCache.ROSTER_URI), any(), any()))
+                .thenReturn(roster(firstRoster, 7L))
+                .thenReturn(roster(secondRoster, 20L));
+        when(employeeApiClient.<List<RosterChange>>getVersioned(eq(RosterCache.CHANGES_URI + 7), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(410, "Gone")));
+
+        rosterCache.get();
+        rosterCache.get();
+        RosterSnapshot resynced = rosterCache.get();
+
+        assertEquals(20L, resynced.version());
+        assertEquals(2, resynced.employees().size());
+        assertEquals(1, meterRegistry.get("employee.roster.cache.resyncs").counter().count());
+    }
+
+    @Test
+    void shouldStopAskingForChangesWhenServerHasNoChangeFeed() {
+        RosterCache rosterCache = new RosterCache(employeeApiClient, Duration.ZERO, true, 0, meterRegistry);
+        when(employeeApiClient.<List<Employee>>getVersioned(eq(RosterCache.ROSTER_URI), any(), any()))
+                .thenReturn(roster(firstRoster, 7L))
+                .thenReturn(roster(secondRoster, 8L));
+        when(employeeApiClient.<List<RosterChange>>getVersioned(eq(RosterCache.CHANGES_URI + 7), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(404, "Not Found")));
+
+        rosterCache.get();
+        rosterCache.get();
+        rosterCache.get();
+        rosterCache.get();
+
+        verify(employeeApiClient, times(1)).getVersioned(eq(RosterCache.CHANGES_URI + 7), any(), any());
+        verify(employeeApiClient, never()).getVersioned(eq(RosterCache.CHANGES_URI + 8), any(), any());
+    }
+
+    private static CompletableFuture<Versioned<List<RosterChange>>> changes(Long version, RosterChange... changes) {
+        return CompletableFuture.completedFuture(new Versioned<>(List.of(changes), version));
+    }
+
+    private static CompletableFuture<Versioned<List<Employee>>> roster(List<Employee> employees, Long version) {
+        return CompletableFuture.completedFuture(new Versioned<>(employees, version));
+    }
+
+    private double requests(String result) {
+        return meterRegistry
+                .get("employee.roster.cache.requests")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
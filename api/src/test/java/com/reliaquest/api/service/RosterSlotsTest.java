@@ -0,0 +1,70 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class RosterSlotsTest {
+    private final Employee alice =
+            new Employee(UUID.randomUUID(), "Alice Smith", 1200, 30, "QA Engineer", "alice.smith@gmail.com");
+    private final Employee bob =
+            new Employee(UUID.randomUUID(), "Bob Johnson", 2500, 35, "DevOps Engineer", "bob.johnson@gmail.com");
+    private final Employee charlie = new Employee(
+            UUID.randomUUID(), "Charlie Brown", 1800, 28, "Backend Developer", "charlie.brown@gmail.com");
+
+    private final RosterSlots slots = RosterSlots.of(List.of(alice, bob, charlie));
+
+    @Test
+    void shouldReplaceRecreatedEmployeeInItsSlot() {
+        Employee renamed = new Employee(bob.getId(), "Robert Johnson", 2600, 35, "DevOps Engineer", "bob@gmail.com");
+
+        RosterSlots.Update update = slots.applying(List.of(change(1, RosterChange.Type.CREATED, renamed)));
+
+        assertEquals(List.of(alice, renamed, charlie), update.slots().employees());
+        assertArrayEquals(new int[] {1}, update.changed());
+    }
+
+    @Test
+    void shouldEmptySlotOfDeletedEmployeeAndAppendCreatedOnes() {
+        Employee diana =
+                new Employee(UUID.randomUUID(), "Diana Prince", 3000, 32, "Frontend Developer", "diana@gmail.com");
+
+        RosterSlots.Update update = slots.applying(List.of(
+                change(1, RosterChange.Type.CREATED, diana),
+                change(2, RosterChange.Type.DELETED, alice),
+                change(3, RosterChange.Type.CREATED, alice)));
+
+        assertEquals(List.of(bob, charlie, diana, alice), update.slots().employees());
+        assertNull(update.slots().get(0));
+        assertArrayEquals(new int[] {0, 3, 4}, update.changed());
+    }
+
+    @Test
+    void shouldDropEmployeesCreatedAndDeletedWithinOneFeed() {
+        Employee diana =
+                new Employee(UUID.randomUUID(), "Diana Prince", 3000, 32, "Frontend Developer", "diana@gmail.com");
+
+        RosterSlots.Update update = slots.applying(List.of(
+                change(1, RosterChange.Type.CREATED, diana), change(2, RosterChange.Type.DELETED, diana)));
+
+        assertEquals(List.of(alice, bob, charlie), update.slots().employees());
+        assertEquals(0, update.changed().length);
+    }
+
+    @Test
+    void shouldBecomeSparseOnceMostSlotsAreEmpty() {
+        RosterSlots.Update update = slots.applying(List.of(change(1, RosterChange.Type.DELETED, alice)));
+        assertFalse(update.slots().sparse());
+
+        update = update.slots().applying(List.of(change(2, RosterChange.Type.DELETED, bob)));
+        assertTrue(update.slots().sparse());
+        assertEquals(List.of(charlie), update.slots().employees());
+    }
+
+    private static RosterChange change(long version, RosterChange.Type type, Employee employee) {
+        return new RosterChange(version, type, employee);
+    }
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SalaryRankingTest {
+    private final List<Employee> employees = List.of(
+            new Employee(UUID.randomUUID(), "Alice Smith", 1200, 30, "QA Engineer", "alice.smith@gmail.com"),
+            new Employee(UUID.randomUUID(), "Bob Johnson", 2500, 35, "DevOps Engineer", "bob.johnson@gmail.com"),
+            new Employee(UUID.randomUUID(), "Charlie Brown", 1800, 28, "Backend Developer", "charlie.brown@gmail.com"),
+            new Employee(UUID.randomUUID(), "Diana Prince", 3000, 32, "Frontend Developer", "diana.prince@gmail.com"),
+            new Employee(UUID.randomUUID(), "Ethan Hunt", 2500, 40, "Security Analyst", "ethan.hunt@gmail.com"),
+            new Employee(UUID.randomUUID(), "Fiona Gallagher", null, 26, "Support Engineer", "fiona@gmail.com"));
+
+    private final SalaryRanking salaryRanking = SalaryRanking.of(employees);
+
+    @Test
+    void shouldReturnHighestEarnersInDescendingOrderKeepingRosterOrderForTies() {
+        assertEquals(
+                List.of("Diana Prince", "Bob Johnson", "Ethan Hunt"),
+                names(salaryRanking.top(3, SalaryRanking.Order.HIGHEST)));
+    }
+
+    @Test
+    void shouldReturnLowestEarnersInAscendingOrder() {
+        assertEquals(
+                List.of("Alice Smith", "Charlie Brown"), names(salaryRanking.top(2, SalaryRanking.Order.LOWEST)));
+    }
+
+    @Test
+    void shouldReturnAllRankedEmployeesWhenLimitExceedsRosterSize() {
+        assertEquals(
+                List.of("Diana Prince", "Bob Johnson", "Ethan Hunt", "Charlie Brown", "Alice Smith"),
+                names(salaryRanking.top(10, SalaryRanking.Order.HIGHEST)));
+    }
+
+    @Test
+    void shouldReturnEmptyListForNonPositiveLimitOrEmptyRoster() {
+        assertTrue(salaryRanking.top(0, SalaryRanking.Order.HIGHEST).isEmpty());
+        assertTrue(SalaryRanking.of(List.of()).top(10, SalaryRanking.Order.HIGHEST).isEmpty());
+    }
+
+    @Test
+    void shouldMemoizeSelectionPerLimitAndOrder() {
+        List<Employee> highest = salaryRanking.top(3, SalaryRanking.Order.HIGHEST);
+
+        assertSame(highest, salaryRanking.top(3, SalaryRanking.Order.HIGHEST));
+        assertNotSame(highest, salaryRanking.top(3, SalaryRanking.Order.LOWEST));
+    }
+
+    @Test
+    void shouldReturnHighestSalaryIgnoringMissingSalaries() {
+        assertEquals(3000, salaryRanking.highestSalary());
+        assertEquals(0, SalaryRanking.of(List.of()).highestSalary());
+    }
+
+    @Test
+    void shouldMatchFullRankingAfterChangeFeed() {
+        RosterSlots slots = RosterSlots.of(employees);
+        SalaryRanking ranking = SalaryRanking.of(slots);
+        ranking.top(3, SalaryRanking.Order.HIGHEST);
+        ranking.top(2, SalaryRanking.Order.LOWEST);
+
+        RosterSlots.Update update = slots.applying(List.of(
+                new RosterChange(1, RosterChange.Type.DELETED, employees.get(3)),
+                new RosterChange(
+                        2,
+                        RosterChange.Type.CREATED,
+                        new Employee(UUID.randomUUID(), "Gina Linetti", 2700, 33, "Recruiter", "gina@gmail.com")),
+                new RosterChange(
+                        3,
+                        RosterChange.Type.CREATED,
+                        new Employee(employees.get(5).getId(), "Fiona Gallagher", 1000, 26, "Support", "fi@x.io"))));
+        SalaryRanking updated = ranking.updated(update);
+        SalaryRanking rebuilt = SalaryRanking.of(update.slots().employees());
+
+        assertEquals(
+                List.of("Gina Linetti", "Bob Johnson", "Ethan Hunt"),
+                names(updated.top(3, SalaryRanking.Order.HIGHEST)));
+        assertEquals(rebuilt.top(2, SalaryRanking.Order.LOWEST), updated.top(2, SalaryRanking.Order.LOWEST));
+        assertEquals(rebuilt.top(10, SalaryRanking.Order.HIGHEST), updated.top(10, SalaryRanking.Order.HIGHEST));
+        assertEquals(2700, updated.highestSalary());
+        assertEquals(3000, ranking.highestSalary());
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getName).toList();
+    }
+}
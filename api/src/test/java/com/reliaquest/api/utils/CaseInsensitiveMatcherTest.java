@@ -0,0 +1,34 @@
+package com.reliaquest.api.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class CaseInsensitiveMatcherTest {
+    @Test
+    void shouldFindFirstOccurrenceIgnoringCase() {
+        CaseInsensitiveMatcher matcher = CaseInsensitiveMatcher.of("SPEC");
+
+        assertEquals(51, matcher.indexIn("Vice Chair Executive Principal of Chief Operations Specialist"));
+        assertTrue(matcher.matches("specialist"));
+        assertFalse(matcher.matches("spe"));
+    }
+
+    @Test
+    void shouldMatchRepeatedPatternCharacters() {
+        CaseInsensitiveMatcher matcher = CaseInsensitiveMatcher.of("anna");
+
+        assertEquals(5, matcher.indexIn("nana ANNA"));
+        assertFalse(matcher.matches("nan ann na"));
+    }
+
+    @Test
+    void shouldMatchEmptyPatternAtStart() {
+        assertEquals(0, CaseInsensitiveMatcher.of("").indexIn("anything"));
+    }
+
+    @Test
+    void shouldFoldNonAsciiCharacters() {
+        assertTrue(CaseInsensitiveMatcher.of("saldaña").matches("Zoë SALDAÑA"));
+    }
+}
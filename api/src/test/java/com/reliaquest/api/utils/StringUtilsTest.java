@@ -2,6 +2,7 @@ package com.reliaquest.api.utils;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Locale;
 import org.junit.jupiter.api.Test;
 
 class StringUtilsTest {
@@ -18,4 +19,27 @@ class StringUtilsTest {
         assertFalse(StringUtils.containsString(sourceString, "Python"));
         assertFalse(StringUtils.containsString(sourceString, "Kotlin"));
     }
+
+    @Test
+    void containsString_shouldMatchEmptySearchAndRejectLongerSearch() {
+        assertTrue(StringUtils.containsString("Java", ""));
+        assertFalse(StringUtils.containsString("Java", "JavaScript"));
+    }
+
+    @Test
+    void containsString_shouldFoldNonAsciiCharacters() {
+        assertTrue(StringUtils.containsString("ΟΔΥΣΣΕΥΣ", "οδυσσ"));
+        assertTrue(StringUtils.containsString("Zoë Saldaña", "ZOË SALDAÑA"));
+    }
+
+    @Test
+    void containsString_shouldNotDependOnDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            assertTrue(StringUtils.containsString("TITLE", "title"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package com.reliaquest.api.config;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Concurrent-request capacity of the api service's blocking request path with and without virtual threads. Each
+ * simulated request occupies a request-handling thread (200 platform threads, Tomcat's default, or a virtual thread)
+ * and blocks on an upstream call through an {@link HttpClient} configured like {@link HttpClientConfig}. The upstream
+ * answers after a fixed delay, so the time to drain a burst shows how many requests can be in flight at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class VirtualThreadCapacityBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final byte[] ENVELOPE = "{\"data\":true}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"200", "2000"})
+    public int concurrentRequests;
+
+    @Param({"50"})
+    public int upstreamLatencyMillis;
+
+    private HttpServer upstream;
+    private ExecutorService requestThreads;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/api/v1/employee", exchange -> {
+            try {
+                Thread.sleep(upstreamLatencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, ENVELOPE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(ENVELOPE);
+            }
+        });
+        upstream.start();
+
+        requestThreads = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        httpClient = new HttpClientConfig().httpClient(virtualThreads);
+        request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + upstream.getAddress().getPort() + "/api/v1/employee"))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestThreads.shutdownNow();
+        upstream.stop(0);
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(requestThreads.submit(() -> httpClient
+                    .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .join()
+                    .statusCode()));
+        }
+
+        int ok = 0;
+        for (Future<Integer> response : responses) {
+            ok += response.get() == 200 ? 1 : 0;
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,99 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The roster queries of {@link EmployeeService} answered from a warm {@link RosterCache}: name search through the name
+ * index, and highest salary and top earners through the salary ranking. The cache is filled once from a
+ * {@link CannedHttpClient} and stays fresh for the whole run, so no benchmark decodes or goes upstream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int employees;
+
+    @Param({"son"})
+    public String searchString;
+
+    private RequestScheduler requestScheduler;
+    private EmployeeWriteBatcher employeeWriteBatcher;
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        byte[] roster = objectMapper.writeValueAsBytes(
+                Response.handledWith(new MockEmployeeGenerator(42L, 1000, true).generate(employees)));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        requestScheduler = new RequestScheduler(
+                Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofSeconds(10), meterRegistry);
+        EmployeeAPIClient employeeApiClient = new EmployeeAPIClient(
+                new CannedHttpClient(roster),
+                "http://localhost:8112",
+                objectMapper,
+                requestScheduler,
+                new RetryPolicies(3, 1, 1, Duration.ofMillis(100), Duration.ofSeconds(2)),
+                new CircuitBreaker(5, Duration.ofSeconds(30), meterRegistry),
+                meterRegistry);
+        employeeWriteBatcher = new EmployeeWriteBatcher(employeeApiClient, Duration.ZERO, 1, meterRegistry);
+        employeeService = new EmployeeService(
+                employeeApiClient,
+                new RosterCache(employeeApiClient, Duration.ofDays(1), false, 0, meterRegistry),
+                employeeWriteBatcher,
+                500,
+                10000);
+        employeeService.getAllEmployees();
+    }
+
+    @TearDown
+    public void tearDown() {
+        employeeWriteBatcher.shutdown();
+        requestScheduler.shutdown();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public List<Employee> searchByName() {
+        return employeeService.getEmployeesByNameSearch(searchString);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public List<String> topTenEarners() {
+        return employeeService.getTopEmployeesBySalary(10);
+    }
+}
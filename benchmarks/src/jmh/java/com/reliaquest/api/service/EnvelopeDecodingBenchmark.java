@@ -0,0 +1,85 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding a roster envelope as the employee server sends it. {@code envelopeReader} measures {@link EnvelopeReader}
+ * on its own; {@code clientGet} goes through {@link EmployeeAPIClient#get} against a {@link CannedHttpClient}, adding
+ * scheduling, retries, the circuit breaker and metrics on top, so the difference between the two is the overhead of
+ * the client itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EnvelopeDecodingBenchmark {
+
+    private static final TypeReference<List<Employee>> EMPLOYEES = new TypeReference<>() {};
+
+    @Param({"1000", "100000", "1000000"})
+    public int employees;
+
+    private byte[] envelope;
+    private EnvelopeReader envelopeReader;
+    private RequestScheduler requestScheduler;
+    private EmployeeAPIClient employeeApiClient;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        envelope = objectMapper.writeValueAsBytes(
+                Response.handledWith(new MockEmployeeGenerator(42L, 1000, true).generate(employees)));
+        envelopeReader = new EnvelopeReader(objectMapper);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        requestScheduler = new RequestScheduler(
+                Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofSeconds(10), meterRegistry);
+        employeeApiClient = new EmployeeAPIClient(
+                new CannedHttpClient(envelope),
+                "http://localhost:8112",
+                objectMapper,
+                requestScheduler,
+                new RetryPolicies(3, 1, 1, Duration.ofMillis(100), Duration.ofSeconds(2)),
+                new CircuitBreaker(5, Duration.ofSeconds(30), meterRegistry),
+                meterRegistry);
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestScheduler.shutdown();
+    }
+
+    @Benchmark
+    public List<Employee> envelopeReader() throws IOException {
+        return envelopeReader.readData(new ByteArrayInputStream(envelope), EMPLOYEES);
+    }
+
+    @Benchmark
+    public List<Employee> clientGet() {
+        return employeeApiClient.get(RosterCache.ROSTER_URI, EMPLOYEES).join();
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.api.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the previous lower-case-both-strings implementation of {@link StringUtils#containsString} with the
+ * allocation-free version and the precompiled {@link CaseInsensitiveMatcher}. Run with {@code -prof gc} to see the
+ * per-call allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    @Param({"Vice Chair Executive Principal of Chief Operations Implementation Specialist", "Tiger Nixon"})
+    public String source;
+
+    @Param({"nix", "SPECIALIST", "missing"})
+    public String search;
+
+    private CaseInsensitiveMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        matcher = CaseInsensitiveMatcher.of(search);
+    }
+
+    @Benchmark
+    public boolean lowerCaseCopies() {
+        return source.toLowerCase().contains(search.toLowerCase());
+    }
+
+    @Benchmark
+    public boolean containsString() {
+        return StringUtils.containsString(source, search);
+    }
+
+    @Benchmark
+    public boolean precompiledMatcher() {
+        return matcher.matches(source);
+    }
+}
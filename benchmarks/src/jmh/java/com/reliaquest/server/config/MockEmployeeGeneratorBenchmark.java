@@ -0,0 +1,48 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Start-up cost of the seed roster. Every operation is one generated employee, so the reported score is employees
+ * generated per second, serially and partitioned across all cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MockEmployeeGeneratorBenchmark {
+
+    private static final int EMPLOYEES = 100_000;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private MockEmployeeGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new MockEmployeeGenerator(42, 10_000, parallel);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EMPLOYEES)
+    public List<MockEmployee> generate() {
+        return generator.generate(EMPLOYEES);
+    }
+}
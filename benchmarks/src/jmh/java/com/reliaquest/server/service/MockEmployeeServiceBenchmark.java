@@ -0,0 +1,100 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import jakarta.validation.Validation;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link MockEmployeeService} the way the controller calls it: id lookups, and creates followed by
+ * deletes by id, which also pay for the change log and the roster snapshot of every write. The {@code readWrite}
+ * group runs lookups next to a writer; rerun with {@code -tg 7,1}, {@code -tg 15,1}, ... to see how lookups hold up
+ * as cores are added. {@code findById} and {@code createAndDelete} run alone on every available core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"50", "10000"})
+    public int employees;
+
+    private MockEmployeeService service;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        List<MockEmployee> seed = new MockEmployeeGenerator(42L, 1000, true).generate(employees);
+        service = new MockEmployeeService(
+                new Faker(),
+                new MockEmployeeStore(seed, 10_000),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ids = seed.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<MockEmployee> findById() {
+        return service.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<MockEmployee> createAndDelete() {
+        return churn();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Optional<MockEmployee> readWriteLookup() {
+        return service.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public Optional<MockEmployee> readWriteChurn() {
+        return churn();
+    }
+
+    private Optional<MockEmployee> churn() {
+        return service.deleteById(service.create(input()).getId());
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static CreateMockEmployeeInput input() {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName("Churn");
+        input.setSalary(100000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link MockEmployeeStore} under contention, against a synchronized list scanned the way
+ * {@code MockEmployeeService} used to. The {@code store} and {@code list} groups run id lookups next to a writer that
+ * creates and deletes by name; rerun with {@code -tg 7,1}, {@code -tg 15,1}, ... to see how lookups scale with cores
+ * while writes are in flight. {@code storeLookup} runs lookups alone on every available core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MockEmployeeStoreBenchmark {
+
+    @Param({"50", "10000"})
+    public int employees;
+
+    private MockEmployeeStore store;
+    private List<MockEmployee> list;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        List<MockEmployee> seed = IntStream.range(0, employees)
+                .mapToObj(i -> employee("Employee " + i))
+                .toList();
+        store = new MockEmployeeStore(seed, 10_000);
+        list = Collections.synchronizedList(new ArrayList<>(seed));
+        ids = seed.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<MockEmployee> storeLookup() {
+        return store.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("store")
+    @GroupThreads(3)
+    public Optional<MockEmployee> storeGroupLookup() {
+        return store.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("store")
+    @GroupThreads(1)
+    public Optional<MockEmployee> storeGroupWrite() {
+        store.add(employee("Churn"));
+        return store.removeByName("churn");
+    }
+
+    @Benchmark
+    @Group("list")
+    @GroupThreads(3)
+    public Optional<MockEmployee> listGroupLookup() {
+        UUID id = randomId();
+        synchronized (list) {
+            return list.stream().filter(employee -> id.equals(employee.getId())).findFirst();
+        }
+    }
+
+    @Benchmark
+    @Group("list")
+    @GroupThreads(1)
+    public boolean listGroupWrite() {
+        list.add(employee("Churn"));
+        synchronized (list) {
+            return list.stream()
+                    .filter(employee -> "churn".equalsIgnoreCase(employee.getName()))
+                    .findFirst()
+                    .map(list::remove)
+                    .orElse(false);
+        }
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100000)
+                .age(30)
+                .title("Engineer")
+                .email("employee@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Cost of {@link RequestLimitInterceptor#preHandle} on every request, spread over {@code clients} distinct
+ * {@code X-Client-Id} values. {@code fixed} runs the limiter with a limit no client reaches, so every request takes
+ * the allowed path and sets the rate limit headers; {@code off} is the baseline of a request that is let straight
+ * through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLimitInterceptorBenchmark {
+
+    private static final String CLIENT_HEADER = "X-Client-Id";
+
+    @Param({"fixed", "off"})
+    public String mode;
+
+    @Param({"1", "1000"})
+    public int clients;
+
+    private RequestLimitInterceptor interceptor;
+    private MockHttpServletRequest[] requests;
+
+    @Setup
+    public void setUp() {
+        interceptor = new RequestLimitInterceptor(
+                mode, Integer.MAX_VALUE, Duration.ofSeconds(60), Duration.ofSeconds(30), CLIENT_HEADER);
+        requests = IntStream.range(0, clients)
+                .mapToObj(client -> {
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+                    request.addHeader(CLIENT_HEADER, "client-" + client);
+                    return request;
+                })
+                .toArray(MockHttpServletRequest[]::new);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadResponse {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean preHandle(ThreadResponse threadResponse) {
+        return interceptor.preHandle(
+                requests[ThreadLocalRandom.current().nextInt(requests.length)], threadResponse.response, null);
+    }
+}
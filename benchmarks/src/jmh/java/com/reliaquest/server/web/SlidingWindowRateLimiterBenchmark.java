@@ -0,0 +1,55 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link SlidingWindowRateLimiter#tryAcquire} on every available core, once with each thread acting as
+ * its own client and once with all threads sharing a single client, the worst case for its compare-and-set loop. The
+ * limit is high enough that requests are admitted throughout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class SlidingWindowRateLimiterBenchmark {
+
+    private static final AtomicInteger clients = new AtomicInteger();
+
+    private SlidingWindowRateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new SlidingWindowRateLimiter(
+                Integer.MAX_VALUE, TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        final String id = "client-" + clients.incrementAndGet();
+    }
+
+    @Benchmark
+    public SlidingWindowRateLimiter.Decision clientPerThread(Client client) {
+        return rateLimiter.tryAcquire(client.id, System.nanoTime());
+    }
+
+    @Benchmark
+    public SlidingWindowRateLimiter.Decision sharedClient() {
+        return rateLimiter.tryAcquire("client", System.nanoTime());
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+
+/**
+ * The {@code IEmployeeController} endpoints of the api, in the order the load test runs them: reads first, then the
+ * creates whose employees the deletes remove again.
+ */
+enum Endpoint {
+    GET_ALL,
+    SEARCH,
+    GET_BY_ID,
+    HIGHEST_SALARY,
+    TOP_TEN,
+    CREATE,
+    DELETE;
+
+    HttpRequest.Builder request(URI apiUri, Workload workload) {
+        return switch (this) {
+            case GET_ALL -> get(apiUri, "/");
+            case SEARCH -> get(apiUri, "/search/" + workload.searchTerm());
+            case GET_BY_ID -> get(apiUri, "/" + workload.existingId());
+            case HIGHEST_SALARY -> get(apiUri, "/highestSalary");
+            case TOP_TEN -> get(apiUri, "/topTenHighestEarningEmployeeNames");
+            case CREATE -> HttpRequest.newBuilder(apiUri.resolve("/"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(workload.creationInput()));
+            case DELETE -> HttpRequest.newBuilder(apiUri.resolve("/" + workload.createdId()))
+                    .DELETE();
+        };
+    }
+
+    private static HttpRequest.Builder get(URI apiUri, String path) {
+        return HttpRequest.newBuilder(apiUri.resolve(path)).GET();
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/**
+ * One measured run of an endpoint. Latencies are in nanoseconds from when each request was due; the elapsed time runs
+ * until the last response arrived, so throughput drops when responses fall behind the schedule.
+ */
+record EndpointResult(
+        Endpoint endpoint,
+        Histogram latency,
+        long sent,
+        long succeeded,
+        long rateLimited,
+        long failed,
+        long elapsedNanos,
+        long allocatedBytes) {
+
+    static final String HEADER = "%-15s %8s %9s %9s %9s %9s %9s %8s %7s %7s %11s %9s"
+            .formatted(
+                    "endpoint",
+                    "sent",
+                    "resp/s",
+                    "p50 ms",
+                    "p99 ms",
+                    "p99.9 ms",
+                    "max ms",
+                    "2xx",
+                    "429",
+                    "errors",
+                    "alloc MB/s",
+                    "KB/req");
+
+    double throughput() {
+        return (succeeded + rateLimited + failed) / seconds();
+    }
+
+    double allocationRate() {
+        return allocatedBytes / seconds() / (1024 * 1024);
+    }
+
+    double allocatedPerRequest() {
+        return sent == 0 ? 0 : allocatedBytes / 1024.0 / sent;
+    }
+
+    String row() {
+        return "%-15s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %8d %7d %7d %11.1f %9.1f"
+                .formatted(
+                        endpoint.name().toLowerCase(Locale.ROOT),
+                        sent,
+                        throughput(),
+                        millis(latency.getValueAtPercentile(50)),
+                        millis(latency.getValueAtPercentile(99)),
+                        millis(latency.getValueAtPercentile(99.9)),
+                        millis(latency.getMaxValue()),
+                        succeeded,
+                        rateLimited,
+                        failed,
+                        allocationRate(),
+                        allocatedPerRequest());
+    }
+
+    private double seconds() {
+        return (double) elapsedNanos / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static double millis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * End-to-end load test. Starts the server and the api in this JVM on ephemeral ports, the server with the requested
+ * roster size and rate limit profile, then drives every {@code IEmployeeController} endpoint in turn with an
+ * {@link OpenLoopRunner} and prints latency percentiles, throughput, 429s and allocation per endpoint. Nothing leaves
+ * the machine, so it runs offline.
+ *
+ * <p>Both modules ship an {@code application.yml} and only one of them would be found on the shared classpath, so each
+ * application reads its own {@code loadtest-server.yml} or {@code loadtest-api.yml} instead.
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        try (ConfigurableApplicationContext server = startServer(options);
+                ConfigurableApplicationContext api = startApi(port(server))) {
+            URI apiUri = URI.create("http://localhost:" + port(api));
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            Workload workload = Workload.fromRoster(new ObjectMapper(), roster(httpClient, apiUri), options.seed());
+            OpenLoopRunner runner = new OpenLoopRunner(httpClient, apiUri, workload, options.rps(), options.timeout());
+
+            System.out.printf(
+                    "%d employees, rate limit %s, %d requests/s, %s warmup and %s measured per endpoint%n%n",
+                    options.employees(),
+                    options.rateLimit(),
+                    options.rps(),
+                    options.warmup(),
+                    options.duration());
+            System.out.println(EndpointResult.HEADER);
+            for (Endpoint endpoint : options.endpoints()) {
+                if (!options.warmup().isZero()) {
+                    runner.run(endpoint, options.warmup());
+                }
+                System.out.println(runner.run(endpoint, options.duration()).row());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startServer(LoadTestOptions options) {
+        return new SpringApplicationBuilder(ServerApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(
+                        "--spring.config.name=loadtest-server",
+                        "--mock.employees.max=" + options.employees(),
+                        "--mock.employees.seed=" + options.seed(),
+                        "--mock.rate-limit.mode=" + options.rateLimit(),
+                        "--mock.rate-limit.limit=" + options.rateLimitLimit(),
+                        "--mock.rate-limit.window=" + options.rateLimitWindow(),
+                        "--mock.rate-limit.backoff=" + options.rateLimitBackoff());
+    }
+
+    private static ConfigurableApplicationContext startApi(int serverPort) {
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(
+                        "--spring.config.name=loadtest-api",
+                        "--urls.employee_server_base_url=http://localhost:" + serverPort);
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    // also warms the api's roster cache before the first measurement
+    private static byte[] roster(HttpClient httpClient, URI apiUri) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(
+                HttpRequest.newBuilder(apiUri.resolve("/")).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("The api answered " + response.statusCode() + " for the roster");
+        }
+        return response.body();
+    }
+}
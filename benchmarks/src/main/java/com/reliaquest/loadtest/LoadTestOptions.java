@@ -0,0 +1,110 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Command line of the load test, as {@code --name=value} pairs. Durations take the same form as in the application
+ * configuration, e.g. {@code 30s} or {@code 500ms}. The rate limit options are handed to the server as its
+ * {@code mock.rate-limit.*} properties; {@code --rate-limit=random} reproduces the challenge's unpredictable limits.
+ */
+record LoadTestOptions(
+        int employees,
+        long seed,
+        String rateLimit,
+        int rateLimitLimit,
+        Duration rateLimitWindow,
+        Duration rateLimitBackoff,
+        int rps,
+        Duration warmup,
+        Duration duration,
+        Duration timeout,
+        List<Endpoint> endpoints) {
+
+    static final String USAGE =
+            """
+            Usage: LoadTest [--name=value ...]
+              --employees=1000          roster size the server starts with
+              --seed=42                 seed of the roster and of the ids and names requested
+              --rate-limit=off          server rate limit mode: off, fixed or random
+              --rate-limit-limit=10     requests per window in fixed mode
+              --rate-limit-window=60s   window in fixed mode
+              --rate-limit-backoff=30s  backoff after the limit is hit in fixed mode
+              --rps=200                 target requests per second, sent on schedule whatever the latency
+              --warmup=10s              unrecorded run per endpoint before measuring
+              --duration=30s            measured run per endpoint
+              --timeout=10s             per-request timeout, timed out requests count as errors
+              --endpoints=all           comma-separated subset of %s;
+                                        delete removes the employees create added, so select both
+            """
+                    .formatted(Arrays.toString(Endpoint.values()).toLowerCase(Locale.ROOT));
+
+    LoadTestOptions {
+        if (employees < 1 || rps < 1 || rateLimitLimit < 1) {
+            throw new IllegalArgumentException("employees, rps and rate-limit-limit must be positive");
+        }
+        if (duration.isZero() || duration.isNegative() || warmup.isNegative() || endpoints.isEmpty()) {
+            throw new IllegalArgumentException("duration must be positive and at least one endpoint selected");
+        }
+    }
+
+    static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("employees", "1000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.getOrDefault("rate-limit", "off"),
+                Integer.parseInt(values.getOrDefault("rate-limit-limit", "10")),
+                duration(values.getOrDefault("rate-limit-window", "60s")),
+                duration(values.getOrDefault("rate-limit-backoff", "30s")),
+                Integer.parseInt(values.getOrDefault("rps", "200")),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "30s")),
+                duration(values.getOrDefault("timeout", "10s")),
+                endpoints(values.getOrDefault("endpoints", "all")));
+        values.keySet().removeAll(List.of(
+                "employees",
+                "seed",
+                "rate-limit",
+                "rate-limit-limit",
+                "rate-limit-window",
+                "rate-limit-backoff",
+                "rps",
+                "warmup",
+                "duration",
+                "timeout",
+                "endpoints"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        return options;
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+
+    private static List<Endpoint> endpoints(String value) {
+        if ("all".equalsIgnoreCase(value.trim())) {
+            return List.of(Endpoint.values());
+        }
+        return Arrays.stream(value.split(","))
+                .map(name -> Endpoint.valueOf(name.trim().toUpperCase(Locale.ROOT)))
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Sends requests to one endpoint at a fixed rate, open loop: request {@code i} is due {@code i / rps} seconds after
+ * the start whether or not earlier responses have arrived, and its latency is measured from when it was due rather
+ * than from when it was sent. A slow response therefore shows up in the tail instead of quietly lowering the rate, as
+ * it would with a fixed pool of clients waiting on each other.
+ *
+ * <p>Allocation is read from the JVM-wide per-thread counters, so it covers both applications and the load generator
+ * together; endpoints are run one after the other so that it can be attributed to one of them. To keep the load
+ * generator's share small and constant however long a run is, responses are counted rather than kept, and their bodies
+ * are discarded except for creates, whose ids the deletes need.
+ */
+final class OpenLoopRunner {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final HttpResponse.BodyHandler<byte[]> KEEP_BODY = HttpResponse.BodyHandlers.ofByteArray();
+    // discards the body like BodyHandlers.discarding(), typed like KEEP_BODY
+    private static final HttpResponse.BodyHandler<byte[]> DISCARD_BODY = HttpResponse.BodyHandlers.replacing(null);
+
+    private final HttpClient httpClient;
+    private final URI apiUri;
+    private final Workload workload;
+    private final int rps;
+    private final Duration timeout;
+
+    OpenLoopRunner(HttpClient httpClient, URI apiUri, Workload workload, int rps, Duration timeout) {
+        this.httpClient = httpClient;
+        this.apiUri = apiUri;
+        this.workload = workload;
+        this.rps = rps;
+        this.timeout = timeout;
+    }
+
+    EndpointResult run(Endpoint endpoint, Duration length) {
+        Recorder latency = new Recorder(3);
+        LongAdder succeeded = new LongAdder();
+        LongAdder rateLimited = new LongAdder();
+        LongAdder failed = new LongAdder();
+        HttpResponse.BodyHandler<byte[]> bodyHandler = endpoint == Endpoint.CREATE ? KEEP_BODY : DISCARD_BODY;
+        // one for every response still due, and one for the dispatching loop until it is done
+        AtomicLong outstanding = new AtomicLong(1);
+        CompletableFuture<Void> drained = new CompletableFuture<>();
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long count = length.toNanos() * rps / TimeUnit.SECONDS.toNanos(1);
+        for (long i = 0; i < count; i++) {
+            long due = start + i * TimeUnit.SECONDS.toNanos(1) / rps;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            HttpRequest request = endpoint.request(apiUri, workload).timeout(timeout).build();
+            outstanding.incrementAndGet();
+            httpClient.sendAsync(request, bodyHandler).whenComplete((response, ex) -> {
+                latency.recordValue(System.nanoTime() - due);
+                if (Objects.nonNull(ex)) {
+                    failed.increment();
+                } else if (response.statusCode() / 100 == 2) {
+                    succeeded.increment();
+                    if (endpoint == Endpoint.CREATE) {
+                        workload.onCreated(response.body());
+                    }
+                } else if (response.statusCode() == TOO_MANY_REQUESTS) {
+                    rateLimited.increment();
+                } else {
+                    failed.increment();
+                }
+                if (outstanding.decrementAndGet() == 0) {
+                    drained.complete(null);
+                }
+            });
+        }
+        if (outstanding.decrementAndGet() == 0) {
+            drained.complete(null);
+        }
+        drained.join();
+
+        return new EndpointResult(
+                endpoint,
+                latency.getIntervalHistogram(),
+                count,
+                succeeded.sum(),
+                rateLimited.sum(),
+                failed.sum(),
+                System.nanoTime() - start,
+                allocatedBytes() - allocatedBefore);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+}
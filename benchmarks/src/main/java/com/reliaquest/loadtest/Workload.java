@@ -0,0 +1,92 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * What the requests ask for: ids and name fragments drawn from the roster the api served at start-up, with a seeded
+ * {@link Random} so that every run with the same seed sends the same requests, and the ids of the employees created
+ * during the run for the deletes. Requests are built on the single dispatching thread; only the created ids are
+ * shared with the threads that complete responses.
+ */
+final class Workload {
+
+    private final ObjectMapper objectMapper;
+    private final List<String> ids;
+    private final List<String> searchTerms;
+    private final Random random;
+    private final Queue<String> created = new ConcurrentLinkedQueue<>();
+    private long sequence;
+
+    private Workload(ObjectMapper objectMapper, List<String> ids, List<String> searchTerms, long seed) {
+        if (ids.isEmpty() || searchTerms.isEmpty()) {
+            throw new IllegalStateException("The api served an empty roster");
+        }
+        this.objectMapper = objectMapper;
+        this.ids = ids;
+        this.searchTerms = searchTerms;
+        this.random = new Random(seed);
+    }
+
+    static Workload fromRoster(ObjectMapper objectMapper, byte[] roster, long seed) throws IOException {
+        List<String> ids = new ArrayList<>();
+        Set<String> searchTerms = new LinkedHashSet<>();
+        for (JsonNode employee : objectMapper.readTree(roster)) {
+            ids.add(employee.path("id").asText());
+            String[] names = employee.path("name").asText().split(" ");
+            String lastName = names[names.length - 1].toLowerCase(Locale.ROOT);
+            if (lastName.matches("[a-z]{3,}.*")) {
+                searchTerms.add(lastName.substring(0, 3));
+            }
+        }
+        return new Workload(objectMapper, ids, List.copyOf(searchTerms), seed);
+    }
+
+    String existingId() {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    String searchTerm() {
+        return searchTerms.get(random.nextInt(searchTerms.size()));
+    }
+
+    byte[] creationInput() {
+        long number = ++sequence;
+        try {
+            return objectMapper.writeValueAsBytes(Map.of(
+                    "name", "Load Test " + number,
+                    "salary", 30000 + random.nextInt(470000),
+                    "age", 16 + random.nextInt(54),
+                    "title", "Load Tester",
+                    "email", "load.test" + number + "@company.com"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // once every created employee is deleted, ids nobody has are sent; the api answers those as errors
+    String createdId() {
+        String id = created.poll();
+        return Objects.isNull(id) ? UUID.randomUUID().toString() : id;
+    }
+
+    void onCreated(byte[] body) {
+        try {
+            created.add(objectMapper.readTree(body).path("id").asText());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
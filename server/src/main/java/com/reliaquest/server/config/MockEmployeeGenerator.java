@@ -0,0 +1,88 @@
+package com.reliaquest.server.config;
+
+import static com.reliaquest.server.config.ServerConfiguration.EMAIL_TEMPLATE;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import net.datafaker.transformations.Field;
+import net.datafaker.transformations.JavaObjectTransformer;
+import net.datafaker.transformations.Schema;
+
+/**
+ * Generates the seed roster in fixed-size chunks. Every chunk gets its own {@link Faker}, transformer and UUID source,
+ * seeded from the roster seed and the chunk index, so chunks can be generated on any thread in any order and the same
+ * seed always yields the same roster, whether generated in parallel or not.
+ */
+@Slf4j
+public final class MockEmployeeGenerator {
+
+    private final long seed;
+    private final int chunkSize;
+    private final boolean parallel;
+
+    public MockEmployeeGenerator(long seed, int chunkSize, boolean parallel) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk size must be positive");
+        }
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+        this.parallel = parallel;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final var chunks = IntStream.range(0, (count + chunkSize - 1) / chunkSize);
+        return (parallel ? chunks.parallel() : chunks)
+                .mapToObj(chunk -> generateChunk(chunk, Math.min(chunkSize, count - chunk * chunkSize)))
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private List<MockEmployee> generateChunk(int chunk, int size) {
+        final var random = new Random(chunkSeed(chunk));
+        final var faker = new Faker(Locale.getDefault(), random);
+        final var transformer = new JavaObjectTransformer();
+        final var schema = Schema.of(
+                Field.field("id", () -> randomUuid(random)),
+                Field.field("name", () -> faker.name().fullName()),
+                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
+                Field.field("age", () -> faker.number().numberBetween(16, 70)),
+                Field.field("title", () -> faker.job().title()),
+                Field.field(
+                        "email",
+                        () -> EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase())));
+        final var employees = IntStream.range(0, size)
+                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
+                .toList();
+        if (log.isDebugEnabled() && !employees.isEmpty()) {
+            log.debug(
+                    "Created {} employees in chunk {}: {} .. {}",
+                    employees.size(),
+                    chunk,
+                    employees.get(0),
+                    employees.get(employees.size() - 1));
+        }
+        return employees;
+    }
+
+    // SplitMix64 step, so that neighbouring chunks get unrelated seeds
+    private long chunkSeed(int chunk) {
+        long value = seed + (chunk + 1) * 0x9e3779b97f4a7c15L;
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    // version 4 layout, drawn from the chunk's random instead of SecureRandom so that ids are reproducible too
+    private static UUID randomUuid(Random random) {
+        final var mostSignificantBits = (random.nextLong() & ~0xf000L) | 0x4000L;
+        final var leastSignificantBits = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -1,15 +1,28 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeLookup;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.RosterChange;
+import com.reliaquest.server.service.RosterSnapshot;
+import com.reliaquest.server.service.SalaryStatistics;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,35 +30,245 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
-@RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String ROSTER_VERSION_HEADER = "X-Roster-Version";
+    public static final String ROSTER_INSTANCE_HEADER = "X-Roster-Instance";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter employeeWriter;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxBatchSize;
+
+    public MockEmployeeController(
+            MockEmployeeService mockEmployeeService,
+            ObjectMapper objectMapper,
+            @Value("${mock.employees.page.default-size:100}") int defaultPageSize,
+            @Value("${mock.employees.page.max-size:1000}") int maxPageSize,
+            @Value("${mock.employees.batch.max-size:1000}") int maxBatchSize) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.objectMapper = objectMapper;
+        this.employeeWriter =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
+    }
 
+    /*
+     * Without cursor and limit the whole roster is returned, as before pagination existed. Otherwise one page is
+     * returned and X-Next-Cursor carries the cursor of the following page, absent on the last one.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        final var roster = mockEmployeeService.getRoster();
+        final var paginated = Objects.nonNull(cursor) || Objects.nonNull(limit);
+        final var eTag = paginated ? eTag(roster.version(), cursor, limit) : eTag(roster.version());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        final var response = ResponseEntity.ok()
+                .eTag(eTag)
+                .header(ROSTER_VERSION_HEADER, String.valueOf(roster.version()))
+                .header(ROSTER_INSTANCE_HEADER, mockEmployeeService.getInstanceId());
+        if (!paginated) {
+            return response.body(Response.handledWith(roster.employees()));
+        }
+
+        final var page = roster.pageAfter(RosterCursor.decode(cursor), pageSize(limit));
+        if (Objects.nonNull(page.lastSequence())) {
+            response.header(NEXT_CURSOR_HEADER, RosterCursor.encode(page.lastSequence()));
+        }
+        return response.body(Response.handledWith(page.employees()));
+    }
+
+    /*
+     * Newline-delimited JSON, one employee per line, without the response envelope. Records are serialized straight
+     * from the roster snapshot to the response stream, so memory use does not grow with the roster.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees(WebRequest webRequest) {
+        final var roster = mockEmployeeService.getRoster();
+        final var eTag = eTag(roster.version(), "ndjson");
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header(ROSTER_VERSION_HEADER, String.valueOf(roster.version()))
+                .header(ROSTER_INSTANCE_HEADER, mockEmployeeService.getInstanceId())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> writeNdjson(roster, out));
+    }
+
+    /*
+     * Creates and deletes after roster version `since`, oldest first; X-Roster-Version is the version they lead to.
+     * 410 Gone if the change log no longer reaches back that far, or never did, or if `instance` names another run of
+     * the server, e.g. after a restart: fetch the roster instead.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<List<RosterChange>>> getChanges(
+            @RequestParam long since, @RequestParam(required = false) String instance) {
+        return mockEmployeeService
+                .changesSince(instance, since)
+                .map(changes -> ResponseEntity.ok()
+                        .header(ROSTER_VERSION_HEADER, String.valueOf(since + changes.size()))
+                        .header(ROSTER_INSTANCE_HEADER, mockEmployeeService.getInstanceId())
+                        .body(Response.handledWith(changes)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).body(Response.handled()));
+    }
+
+    @GetMapping("/salary/statistics")
+    public ResponseEntity<Response<SalaryStatistics>> getSalaryStatistics(WebRequest webRequest) {
+        final var roster = mockEmployeeService.getRoster();
+        final var eTag = eTag(roster.version(), "salary");
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header(ROSTER_VERSION_HEADER, String.valueOf(roster.version()))
+                .header(ROSTER_INSTANCE_HEADER, mockEmployeeService.getInstanceId())
+                .body(Response.handledWith(roster.salaryStatistics()));
+    }
+
+    /*
+     * Highest earners first, ties in roster order; at most SalaryStatistics.MAX_TOP_EARNERS.
+     */
+    @GetMapping("/salary/top")
+    public ResponseEntity<Response<List<MockEmployee>>> getTopEarners(
+            @RequestParam int limit, WebRequest webRequest) {
+        if (limit < 1 || limit > SalaryStatistics.MAX_TOP_EARNERS) {
+            throw new IllegalArgumentException(
+                    "limit must be between 1 and %d".formatted(SalaryStatistics.MAX_TOP_EARNERS));
+        }
+        final var roster = mockEmployeeService.getRoster();
+        final var eTag = eTag(roster.version(), "top", limit);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header(ROSTER_VERSION_HEADER, String.valueOf(roster.version()))
+                .header(ROSTER_INSTANCE_HEADER, mockEmployeeService.getInstanceId())
+                .body(Response.handledWith(roster.salaryStatistics().topEarners(limit)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid, WebRequest webRequest) {
+        final var eTag = eTag(mockEmployeeService.getRosterVersion(), uuid);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         return mockEmployeeService
                 .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .map(employee -> ResponseEntity.ok().eTag(eTag).body(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    /*
+     * A POST so that hundreds of ids fit in the body; it changes nothing. Duplicate ids are answered once.
+     */
+    @PostMapping("/lookup")
+    public Response<EmployeeLookup> lookupEmployees(@RequestBody List<UUID> uuids) {
+        return Response.handledWith(mockEmployeeService.lookup(checkBatchSize(uuids)));
+    }
+
     @PostMapping()
     public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /*
+     * Batch endpoints answer 200 with one result per item, in request order, unless the batch itself is too large.
+     */
+    @PostMapping("/batch")
+    public Response<List<BatchResult<MockEmployee>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.createAll(checkBatchSize(inputs)));
+    }
+
+    @DeleteMapping("/batch")
+    public Response<List<BatchResult<MockEmployee>>> deleteEmployees(
+            @RequestBody List<DeleteMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.deleteAll(checkBatchSize(inputs)));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployee(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    private <T> List<T> checkBatchSize(List<T> inputs) {
+        if (inputs.size() > maxBatchSize) {
+            throw new IllegalArgumentException("batch size must be at most %d".formatted(maxBatchSize));
+        }
+        return inputs;
+    }
+
+    /*
+     * Weak ETag of one representation of the roster at the given version of this server instance, qualified by
+     * whatever else selects the representation. The instance id keeps a restarted server that reissues a version from
+     * validating a representation cached from before the restart. Handlers compare it before building a body; on a
+     * match checkNotModified has already set 304 and the ETag, and returning null tells Spring MVC the response is
+     * complete. Weak because Tomcat does not compress a response that carries a strong ETag, and If-None-Match is
+     * compared weakly anyway.
+     */
+    private String eTag(long version, Object... qualifiers) {
+        final var eTag = new StringBuilder("W/\"")
+                .append(mockEmployeeService.getInstanceId())
+                .append(':')
+                .append(version);
+        for (Object qualifier : qualifiers) {
+            eTag.append(':').append(Objects.toString(qualifier, ""));
+        }
+        return eTag.append('"').toString();
+    }
+
+    private void writeNdjson(RosterSnapshot roster, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (MockEmployee employee : roster.employees()) {
+                employeeWriter.writeValue(generator, employee);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private int pageSize(Integer limit) {
+        if (Objects.isNull(limit)) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
 }
@@ -0,0 +1,33 @@
+package com.reliaquest.server.controller;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque page cursor: the URL-safe Base64 encoding of the insertion sequence of the last employee on the previous page.
+ */
+final class RosterCursor {
+
+    static final long START = -1;
+
+    private RosterCursor() {}
+
+    static String encode(long sequence) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(sequence).array());
+    }
+
+    static long decode(String cursor) {
+        if (Objects.isNull(cursor) || cursor.isEmpty()) {
+            return START;
+        }
+
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request, in request order: the item's data if it was applied, otherwise the reason
+ * it was not.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult<T>(int index, T data, String error) {
+
+    public static <T> BatchResult<T> applied(int index, T data) {
+        return new BatchResult<>(index, data, null);
+    }
+
+    public static <T> BatchResult<T> rejected(int index, String error) {
+        return new BatchResult<>(index, null, error);
+    }
+}
@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Answer to a lookup of many ids: the employees found, in the order their ids were first requested, and the requested
+ * ids without an employee.
+ */
+public record EmployeeLookup(List<MockEmployee> found, List<UUID> notFound) {}
@@ -1,14 +1,19 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeLookup;
 import com.reliaquest.server.model.MockEmployee;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,38 +26,137 @@ import org.springframework.stereotype.Service;
 public class MockEmployeeService {
 
     private final Faker faker;
+    private final MockEmployeeStore mockEmployeeStore;
+    private final Validator validator;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    public RosterSnapshot getRoster() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    public long getRosterVersion() {
+        return mockEmployeeStore.version();
+    }
+
+    public String getInstanceId() {
+        return mockEmployeeStore.instanceId();
+    }
+
+    /*
+     * Empty, as for a version that aged out of the change log, if the version was issued by another server instance.
+     * Without an instance id the version is taken to be this instance's.
+     */
+    public Optional<List<RosterChange>> changesSince(String instanceId, long version) {
+        if (Objects.nonNull(instanceId) && !instanceId.equals(mockEmployeeStore.instanceId())) {
+            return Optional.empty();
+        }
+        return mockEmployeeStore.changesSince(version);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
+    }
+
+    public EmployeeLookup lookup(@NonNull List<UUID> uuids) {
+        final var found = new ArrayList<MockEmployee>(uuids.size());
+        final var notFound = new ArrayList<UUID>();
+        for (UUID uuid : new LinkedHashSet<>(uuids)) {
+            if (Objects.isNull(uuid)) {
+                continue;
+            }
+            mockEmployeeStore.findById(uuid).ifPresentOrElse(found::add, () -> notFound.add(uuid));
+        }
+        return new EmployeeLookup(found, notFound);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = toMockEmployee(input);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /*
+     * Each input is validated on its own; the valid ones are added in a single store write and invalid ones are
+     * reported back without failing the batch.
+     */
+    public List<BatchResult<MockEmployee>> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var results = new ArrayList<BatchResult<MockEmployee>>(inputs.size());
+        final var mockEmployees = new ArrayList<MockEmployee>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            final var violations = violations(inputs.get(i));
+            if (Objects.nonNull(violations)) {
+                results.add(BatchResult.rejected(i, violations));
+            } else {
+                final var mockEmployee = toMockEmployee(inputs.get(i));
+                mockEmployees.add(mockEmployee);
+                results.add(BatchResult.applied(i, mockEmployee));
+            }
+        }
+        mockEmployeeStore.addAll(mockEmployees);
+        log.debug("Added {} of {} employees in batch", mockEmployees.size(), inputs.size());
+        return results;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        final var mockEmployee = mockEmployeeStore.removeByName(input.getName());
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
+
+    public List<BatchResult<MockEmployee>> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        final var results = new ArrayList<BatchResult<MockEmployee>>(inputs.size());
+        final var names = new ArrayList<String>(inputs.size());
+        final var indexes = new ArrayList<Integer>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            final var violations = violations(inputs.get(i));
+            results.add(Objects.nonNull(violations) ? BatchResult.rejected(i, violations) : null);
+            if (Objects.isNull(violations)) {
+                names.add(inputs.get(i).getName());
+                indexes.add(i);
+            }
+        }
+
+        final var removed = mockEmployeeStore.removeAllByName(names);
+        for (int i = 0; i < removed.size(); i++) {
+            final int index = indexes.get(i);
+            results.set(
+                    index,
+                    removed.get(i)
+                            .map(employee -> BatchResult.applied(index, employee))
+                            .orElseGet(() -> BatchResult.rejected(index, "no employee with that name")));
         }
+        log.debug(
+                "Removed {} of {} employees in batch",
+                removed.stream().filter(Optional::isPresent).count(),
+                inputs.size());
+        return results;
+    }
+
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        final var mockEmployee = mockEmployeeStore.removeById(uuid);
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee;
+    }
+
+    private MockEmployee toMockEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
 
-        return false;
+    // the violations of the bean constraints on one batch item, or null if there are none
+    private String violations(Object input) {
+        if (Objects.isNull(input)) {
+            return "must not be null";
+        }
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
     }
 }
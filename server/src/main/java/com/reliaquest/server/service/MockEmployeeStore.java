@@ -0,0 +1,273 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thread-safe employee store indexed by id and by case-folded name.
+ *
+ * <p>Lookups by id never lock: they go straight to a {@link ConcurrentHashMap}. Listings read a {@link RosterSnapshot},
+ * an immutable copy of the roster. Writes are serialized by a single lock, which keeps the insertion-ordered roster,
+ * the id index and the name index in step and bumps the roster version; they do not copy the roster. The first listing
+ * after a write builds the snapshot for the current version under the lock, and every later listing reads it without
+ * locking until the next write, so a run of writes between two listings costs one copy rather than one per write. Names
+ * are not unique, so the name index keeps the ids sharing a name in insertion order and a delete by name removes the
+ * oldest match, as the former list scan did; a delete by id removes exactly that employee. Salary aggregates are kept
+ * up to date in a {@link SalaryIndex} as part of every write and published with the snapshot.
+ *
+ * <p>Every write is also appended to a bounded change log, so that a replica at a recent version can catch up from
+ * the changes since then instead of fetching the roster again. Reading the log takes the write lock briefly.
+ */
+@Component
+public class MockEmployeeStore {
+
+    private final ConcurrentHashMap<UUID, MockEmployee> byId = new ConcurrentHashMap<>();
+
+    // guarded by writeLock
+    private final LinkedHashMap<Long, MockEmployee> roster = new LinkedHashMap<>();
+    private final Map<UUID, Long> sequencesById = new HashMap<>();
+    private final Map<String, Deque<UUID>> idsByName = new HashMap<>();
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+    private long nextSequence;
+    private final Deque<RosterChange> changes = new ArrayDeque<>();
+    private final int maxRetainedChanges;
+    private long changesRetainedSince;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // written under writeLock; snapshot lags behind it until the next listing builds one
+    private volatile long version;
+    private volatile RosterSnapshot snapshot;
+
+    public MockEmployeeStore(
+            List<MockEmployee> mockEmployees,
+            @Value("${mock.employees.changes.max-retained:10000}") int maxRetainedChanges) {
+        this.maxRetainedChanges = maxRetainedChanges;
+        mockEmployees.forEach(this::index);
+        /*
+         * Starting from the wall clock makes it unlikely, but not impossible, that a restarted server hands out a
+         * version an earlier run already used, e.g. after many writes or a clock step back. The instance id tells runs
+         * apart.
+         */
+        version = System.currentTimeMillis();
+        snapshot = snapshot(version);
+        changesRetainedSince = version;
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(byId.get(uuid));
+    }
+
+    /**
+     * The roster as of the latest write, built on the first call after that write.
+     */
+    public RosterSnapshot snapshot() {
+        RosterSnapshot current = snapshot;
+        if (current.version() == version) {
+            return current;
+        }
+
+        writeLock.lock();
+        try {
+            if (snapshot.version() != version) {
+                snapshot = snapshot(version);
+            }
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Random id of this run of the server. Versions are only unique together with it: a client that holds a version
+     * from another instance must fetch the roster again rather than ask for the changes since that version.
+     */
+    public String instanceId() {
+        return instanceId;
+    }
+
+    /**
+     * The version of the latest write, without building a snapshot for it.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * The changes after {@code version} in order, or empty if the log no longer reaches back to that version or it is
+     * not a version of this store.
+     */
+    public Optional<List<RosterChange>> changesSince(long version) {
+        writeLock.lock();
+        try {
+            if (version < changesRetainedSince || version > this.version) {
+                return Optional.empty();
+            }
+            List<RosterChange> since = new ArrayList<>((int) (this.version - version));
+            for (RosterChange change : changes) {
+                if (change.version() > version) {
+                    since.add(change);
+                }
+            }
+            return Optional.of(since);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void add(@NonNull MockEmployee mockEmployee) {
+        addAll(List.of(mockEmployee));
+    }
+
+    /**
+     * Adds all employees in one write, so that a listing sees either the whole batch or none of it.
+     */
+    public void addAll(@NonNull List<MockEmployee> mockEmployees) {
+        writeLock.lock();
+        try {
+            mockEmployees.forEach(this::index);
+            publish(RosterChange.Type.CREATED, mockEmployees);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        return removeAllByName(List.of(name)).get(0);
+    }
+
+    /**
+     * Removes the oldest employee with each name in one write, so that a listing sees either the whole batch or none of
+     * it. The result holds the removed employee for each name, in order, or empty where no employee was left with that
+     * name.
+     */
+    public List<Optional<MockEmployee>> removeAllByName(@NonNull List<String> names) {
+        writeLock.lock();
+        try {
+            List<Optional<MockEmployee>> results = new ArrayList<>(names.size());
+            List<MockEmployee> removed = new ArrayList<>(names.size());
+            for (String name : names) {
+                Optional<MockEmployee> result = Optional.ofNullable(name).map(this::unindexByName);
+                result.ifPresent(removed::add);
+                results.add(result);
+            }
+            publish(RosterChange.Type.DELETED, removed);
+            return results;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        writeLock.lock();
+        try {
+            MockEmployee mockEmployee = byId.get(id);
+            if (Objects.isNull(mockEmployee)) {
+                return Optional.empty();
+            }
+
+            if (Objects.nonNull(mockEmployee.getName())) {
+                String key = foldCase(mockEmployee.getName());
+                Deque<UUID> ids = idsByName.get(key);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    idsByName.remove(key);
+                }
+            }
+            MockEmployee removed = unindex(id);
+            publish(RosterChange.Type.DELETED, List.of(removed));
+            return Optional.of(removed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // must hold writeLock, or be constructing
+    private void index(MockEmployee mockEmployee) {
+        long sequence = nextSequence++;
+        roster.put(sequence, mockEmployee);
+        sequencesById.put(mockEmployee.getId(), sequence);
+        byId.put(mockEmployee.getId(), mockEmployee);
+        salaryIndex.add(sequence, mockEmployee);
+        if (Objects.nonNull(mockEmployee.getName())) {
+            idsByName
+                    .computeIfAbsent(foldCase(mockEmployee.getName()), ignored -> new ArrayDeque<>())
+                    .addLast(mockEmployee.getId());
+        }
+    }
+
+    // must hold writeLock
+    private MockEmployee unindexByName(String name) {
+        String key = foldCase(name);
+        Deque<UUID> ids = idsByName.get(key);
+        if (Objects.isNull(ids)) {
+            return null;
+        }
+
+        UUID id = ids.pollFirst();
+        if (ids.isEmpty()) {
+            idsByName.remove(key);
+        }
+        return unindex(id);
+    }
+
+    // must hold writeLock; the caller has already dropped the id from the name index
+    private MockEmployee unindex(UUID id) {
+        long sequence = sequencesById.remove(id);
+        MockEmployee removed = roster.remove(sequence);
+        byId.remove(id);
+        salaryIndex.remove(sequence, removed);
+        return removed;
+    }
+
+    // must hold writeLock; every write gets its own version in the change log, the next snapshot only the last one
+    private void publish(RosterChange.Type type, List<MockEmployee> mockEmployees) {
+        if (mockEmployees.isEmpty()) {
+            return;
+        }
+        long version = this.version;
+        for (MockEmployee mockEmployee : mockEmployees) {
+            changes.addLast(new RosterChange(++version, type, mockEmployee));
+            if (changes.size() > maxRetainedChanges) {
+                changesRetainedSince = changes.removeFirst().version();
+            }
+        }
+        this.version = version;
+    }
+
+    // must hold writeLock, or be constructing
+    private RosterSnapshot snapshot(long version) {
+        long[] sequences = new long[roster.size()];
+        int i = 0;
+        for (long sequence : roster.keySet()) {
+            sequences[i++] = sequence;
+        }
+        return new RosterSnapshot(version, List.copyOf(roster.values()), sequences, salaryIndex.statistics());
+    }
+
+    /*
+     * Folding every char to lower(upper(c)) gives equal keys exactly for the strings String.equalsIgnoreCase
+     * considers equal.
+     */
+    private static String foldCase(String name) {
+        char[] folded = new char[name.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return new String(folded);
+    }
+}
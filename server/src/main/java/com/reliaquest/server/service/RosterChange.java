@@ -0,0 +1,15 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+
+/**
+ * One create or delete, tagged with the roster version it produced. Versions of consecutive changes are consecutive, so
+ * applying every change after version {@code n} in order to the roster of version {@code n} yields the current roster.
+ */
+public record RosterChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
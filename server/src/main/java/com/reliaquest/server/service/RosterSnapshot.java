@@ -0,0 +1,29 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable view of the roster as of one write. Versions only ever increase; every successful create or delete bumps
+ * the version, and {@link MockEmployeeStore} builds the snapshot for it when the roster is next listed.
+ *
+ * <p>{@code sequences} holds the insertion sequence of each employee, ascending in roster order. Sequences are never
+ * reused, so a page that starts after a given sequence neither repeats nor skips employees when others are added or
+ * removed between page requests. {@code salaryStatistics} describes exactly the employees of this snapshot.
+ */
+public record RosterSnapshot(
+        long version, List<MockEmployee> employees, long[] sequences, SalaryStatistics salaryStatistics) {
+
+    public Page pageAfter(long afterSequence, int limit) {
+        int from = Arrays.binarySearch(sequences, afterSequence);
+        from = from >= 0 ? from + 1 : -from - 1;
+        int to = (int) Math.min((long) from + limit, employees.size());
+        return new Page(employees.subList(from, to), to < employees.size() ? sequences[to - 1] : null);
+    }
+
+    /**
+     * @param lastSequence sequence of the last employee on this page, {@code null} if there are no further pages
+     */
+    public record Page(List<MockEmployee> employees, Long lastSequence) {}
+}
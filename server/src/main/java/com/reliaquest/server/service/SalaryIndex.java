@@ -0,0 +1,53 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Employees ordered by descending salary, then by insertion sequence, together with the running count and sum.
+ * Maintained by {@link MockEmployeeStore} on every write in O(log n), so that {@link SalaryStatistics} can be published
+ * with each snapshot in O(k) rather than by re-sorting the roster. Not thread-safe.
+ */
+final class SalaryIndex {
+
+    private static final Comparator<Key> ORDER =
+            Comparator.comparingInt(Key::salary).reversed().thenComparingLong(Key::sequence);
+
+    private final TreeMap<Key, MockEmployee> bySalary = new TreeMap<>(ORDER);
+    private long sum;
+
+    void add(long sequence, MockEmployee mockEmployee) {
+        if (Objects.nonNull(mockEmployee.getSalary())) {
+            bySalary.put(new Key(mockEmployee.getSalary(), sequence), mockEmployee);
+            sum += mockEmployee.getSalary();
+        }
+    }
+
+    void remove(long sequence, MockEmployee mockEmployee) {
+        if (Objects.nonNull(mockEmployee.getSalary())
+                && Objects.nonNull(bySalary.remove(new Key(mockEmployee.getSalary(), sequence)))) {
+            sum -= mockEmployee.getSalary();
+        }
+    }
+
+    SalaryStatistics statistics() {
+        final var topEarners = new ArrayList<MockEmployee>(Math.min(bySalary.size(), SalaryStatistics.MAX_TOP_EARNERS));
+        for (MockEmployee mockEmployee : bySalary.values()) {
+            if (topEarners.size() == SalaryStatistics.MAX_TOP_EARNERS) {
+                break;
+            }
+            topEarners.add(mockEmployee);
+        }
+        return new SalaryStatistics(
+                bySalary.size(),
+                sum,
+                bySalary.isEmpty() ? null : bySalary.firstKey().salary(),
+                List.copyOf(topEarners));
+    }
+
+    private record Key(int salary, long sequence) {}
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * Salary aggregates of one roster snapshot. {@code count}, {@code sum} and {@code max} only cover employees with a
+ * salary; {@code max} is {@code null} if there are none. {@code topEarners} holds up to {@link #MAX_TOP_EARNERS}
+ * employees by descending salary, ties in roster order.
+ */
+public record SalaryStatistics(long count, long sum, Integer max, @JsonIgnore List<MockEmployee> topEarners) {
+
+    public static final int MAX_TOP_EARNERS = 100;
+
+    public List<MockEmployee> topEarners(int limit) {
+        return topEarners.subList(0, Math.min(limit, topEarners.size()));
+    }
+}
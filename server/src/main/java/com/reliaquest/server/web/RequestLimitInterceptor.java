@@ -0,0 +1,89 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rate limits every client, identified by the configured header or else by remote address, with a
+ * {@link SlidingWindowRateLimiter}. In {@code random} mode, the default, limit and backoff are drawn at start-up as
+ * they always were, with the window as long as the backoff; {@code fixed} uses the configured values and {@code off}
+ * lets every request through.
+ *
+ * <p>Limited responses carry {@code X-RateLimit-Limit} and {@code X-RateLimit-Remaining}; a 429 additionally carries
+ * {@code Retry-After} with the seconds left until the client is let through again.
+ */
+@Slf4j
+@Component
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    enum Mode {
+        RANDOM,
+        FIXED,
+        OFF
+    }
+
+    private final SlidingWindowRateLimiter rateLimiter;
+    private final String clientHeader;
+
+    public RequestLimitInterceptor(
+            @Value("${mock.rate-limit.mode:random}") String mode,
+            @Value("${mock.rate-limit.limit:10}") int limit,
+            @Value("${mock.rate-limit.window:60s}") Duration window,
+            @Value("${mock.rate-limit.backoff:30s}") Duration backoff,
+            @Value("${mock.rate-limit.client-header:X-Client-Id}") String clientHeader) {
+        this.clientHeader = clientHeader;
+        this.rateLimiter = switch (Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT))) {
+            case RANDOM -> {
+                final var randomBackoff = TimeUnit.SECONDS.toNanos(RandomGenerator.getDefault().nextInt(30, 90));
+                yield new SlidingWindowRateLimiter(
+                        RandomGenerator.getDefault().nextInt(5, 10), randomBackoff, randomBackoff);
+            }
+            case FIXED -> new SlidingWindowRateLimiter(limit, window.toNanos(), backoff.toNanos());
+            case OFF -> null;
+        };
+        if (Objects.isNull(rateLimiter)) {
+            log.info("Request rate limiting is off");
+        } else {
+            log.info("Rate limiting each client to {} requests ({} mode)", rateLimiter.limit(), mode);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (Objects.isNull(rateLimiter)) {
+            return true;
+        }
+
+        final var decision = rateLimiter.tryAcquire(clientOf(request), System.nanoTime());
+        response.setHeader(LIMIT_HEADER, String.valueOf(rateLimiter.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        if (!decision.allowed()) {
+            response.setHeader(RETRY_AFTER_HEADER, String.valueOf(ceilSeconds(decision.retryAfterNanos())));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+        return decision.allowed();
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        final var client = request.getHeader(clientHeader);
+        return Objects.isNull(client) || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
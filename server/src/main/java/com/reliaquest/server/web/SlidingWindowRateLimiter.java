@@ -0,0 +1,155 @@
+package com.reliaquest.server.web;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free sliding-window rate limiter with independent state per client.
+ *
+ * <p>Each client's window is an immutable {@link Window} behind its own {@link AtomicReference}, advanced with a
+ * compare-and-set loop, so the check and the increment are one atomic step and concurrent bursts cannot overshoot the
+ * limit. The sliding window is approximated from the current and previous fixed window, weighting the previous count
+ * by how much of it still overlaps. A client that exceeds the limit is rejected until its backoff has passed, after
+ * which it starts over with a fresh window. Clients live in a {@link ConcurrentHashMap}, so callers only contend with
+ * requests of the same client; idle clients are swept once more than {@link #MAX_TRACKED_CLIENTS} are tracked, at most
+ * once per window. A client only turns idle after two windows without requests or at the end of its backoff, so while
+ * that many clients stay active, new clients do not each rescan the map in vain.
+ *
+ * <p>The sweep retires a client's state with a compare-and-set before dropping it from the map, so a request that
+ * looked the state up just before it was swept fails its own compare-and-set and retries on the client's new state
+ * rather than counting against a state nobody will read again.
+ */
+final class SlidingWindowRateLimiter {
+
+    static final int MAX_TRACKED_CLIENTS = 10_000;
+
+    // compared by identity; never advanced, so every compare-and-set against a retired state fails
+    private static final Window RETIRED = new Window(0, 0, 0, true, 0);
+
+    private final int limit;
+    private final long windowNanos;
+    private final long backoffNanos;
+    private final ConcurrentHashMap<String, AtomicReference<Window>> clients = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    // guarded by sweeping
+    private boolean swept;
+    private long lastSweep;
+
+    SlidingWindowRateLimiter(int limit, long windowNanos, long backoffNanos) {
+        if (limit < 1 || windowNanos < 1 || backoffNanos < 0) {
+            throw new IllegalArgumentException("limit and window must be positive and backoff must not be negative");
+        }
+        this.limit = limit;
+        this.windowNanos = windowNanos;
+        this.backoffNanos = backoffNanos;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    Decision tryAcquire(String client, long now) {
+        AtomicReference<Window> state = stateOf(client, now);
+        while (true) {
+            Window current = state.get();
+            if (current == RETIRED) {
+                clients.remove(client, state);
+                state = stateOf(client, now);
+                continue;
+            }
+            if (current.blocked() && now - current.blockedUntil() < 0) {
+                return Decision.rejected(current.blockedUntil() - now);
+            }
+
+            Window window = current.blocked() ? Window.startingAt(now) : current.advancedTo(now, windowNanos);
+            double used = window.previous() * (double) (windowNanos - (now - window.start())) / windowNanos
+                    + window.current();
+            if (used + 1 > limit) {
+                if (state.compareAndSet(current, window.blockedUntil(now + backoffNanos))) {
+                    return Decision.rejected(backoffNanos);
+                }
+            } else if (state.compareAndSet(current, window.incremented())) {
+                return Decision.allowed((int) (limit - used - 1));
+            }
+        }
+    }
+
+    int trackedClients() {
+        return clients.size();
+    }
+
+    private AtomicReference<Window> stateOf(String client, long now) {
+        AtomicReference<Window> state = clients.get(client);
+        if (Objects.isNull(state)) {
+            state = clients.computeIfAbsent(client, ignored -> new AtomicReference<>(Window.startingAt(now)));
+            if (clients.size() > MAX_TRACKED_CLIENTS) {
+                sweep(now);
+            }
+        }
+        return state;
+    }
+
+    // Drops clients that have neither a live window nor a pending backoff; their next request starts afresh anyway.
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (swept && now - lastSweep < windowNanos) {
+                return;
+            }
+            swept = true;
+            lastSweep = now;
+            clients.forEach((client, state) -> {
+                Window window = state.get();
+                if (window == RETIRED || window.idleAt(now, windowNanos) && state.compareAndSet(window, RETIRED)) {
+                    clients.remove(client, state);
+                }
+            });
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    record Decision(boolean allowed, int remaining, long retryAfterNanos) {
+
+        static Decision allowed(int remaining) {
+            return new Decision(true, Math.max(0, remaining), 0);
+        }
+
+        static Decision rejected(long retryAfterNanos) {
+            return new Decision(false, 0, retryAfterNanos);
+        }
+    }
+
+    private record Window(long start, int previous, int current, boolean blocked, long blockedUntil) {
+
+        static Window startingAt(long now) {
+            return new Window(now, 0, 0, false, 0);
+        }
+
+        Window advancedTo(long now, long windowNanos) {
+            long elapsed = now - start;
+            if (elapsed < windowNanos) {
+                return this;
+            }
+            return elapsed < 2 * windowNanos
+                    ? new Window(start + windowNanos, current, 0, false, 0)
+                    : new Window(now - elapsed % windowNanos, 0, 0, false, 0);
+        }
+
+        Window incremented() {
+            return new Window(start, previous, current + 1, false, 0);
+        }
+
+        Window blockedUntil(long until) {
+            return new Window(start, previous, current, true, until);
+        }
+
+        boolean idleAt(long now, long windowNanos) {
+            return blocked ? now - blockedUntil >= 0 : now - start >= 2 * windowNanos;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.server;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class ServerApplicationTest {
+
+    @Test
+    void contextLoads() {}
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    @Test
+    void shouldGenerateTheSameRosterForTheSameSeed() {
+        List<MockEmployee> first = new MockEmployeeGenerator(42L, 7, true).generate(50);
+        List<MockEmployee> second = new MockEmployeeGenerator(42L, 7, true).generate(50);
+
+        assertEquals(50, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void shouldGenerateTheSameRosterSeriallyAndInParallel() {
+        List<MockEmployee> serial = new MockEmployeeGenerator(42L, 7, false).generate(50);
+        List<MockEmployee> parallel = new MockEmployeeGenerator(42L, 7, true).generate(50);
+
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    void shouldGenerateDifferentRostersForDifferentSeeds() {
+        List<MockEmployee> first = new MockEmployeeGenerator(42L, 7, true).generate(10);
+        List<MockEmployee> second = new MockEmployeeGenerator(43L, 7, true).generate(10);
+
+        assertNotEquals(first.get(0).getId(), second.get(0).getId());
+    }
+
+    @Test
+    void shouldRejectNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new MockEmployeeGenerator(42L, 0, true));
+    }
+}
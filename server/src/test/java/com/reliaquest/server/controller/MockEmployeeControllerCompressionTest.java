@@ -0,0 +1,54 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Runs against the embedded Tomcat rather than MockMvc, since response compression happens in the connector.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"mock.rate-limit.mode=off", "mock.employees.seed=42"})
+class MockEmployeeControllerCompressionTest {
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void shouldCompressRosterThatCarriesAnETag() throws Exception {
+        HttpResponse<byte[]> response = get(HttpRequest.newBuilder(roster()));
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("W/\""));
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedToWeakETag() throws Exception {
+        String eTag = get(HttpRequest.newBuilder(roster())).headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+
+        HttpResponse<byte[]> response = get(HttpRequest.newBuilder(roster()).header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        assertEquals(304, response.statusCode());
+        assertEquals(0, response.body().length);
+    }
+
+    private URI roster() {
+        return URI.create("http://localhost:" + port + "/api/v1/employee");
+    }
+
+    private HttpResponse<byte[]> get(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(
+                request.header(HttpHeaders.ACCEPT_ENCODING, "gzip").GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,155 @@
+package com.reliaquest.server.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {"mock.rate-limit.mode=off", "mock.employees.seed=42"})
+@AutoConfigureMockMvc
+class MockEmployeeControllerTest {
+    private static final String EMPLOYEE_URI = "/api/v1/employee";
+    private static final String CREATION_INPUT =
+            "{\"name\":\"Jill Jenkins\",\"salary\":139082,\"age\":48,\"title\":\"Financial Advisor\"}";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void shouldAnswerNotModifiedWhileRosterIsUnchanged() throws Exception {
+        String eTag = eTag(EMPLOYEE_URI);
+
+        mockMvc.perform(get(EMPLOYEE_URI).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldAnswerWithNewETagAfterWrite() throws Exception {
+        String eTag = eTag(EMPLOYEE_URI);
+
+        create();
+
+        MvcResult result = mockMvc.perform(get(EMPLOYEE_URI).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(eTag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldQualifyETagByRepresentation() throws Exception {
+        String roster = eTag(EMPLOYEE_URI);
+        String page = eTag(EMPLOYEE_URI + "?limit=2");
+        String statistics = eTag(EMPLOYEE_URI + "/salary/statistics");
+        String topEarners = eTag(EMPLOYEE_URI + "/salary/top?limit=10");
+
+        assertEquals(4, Set.of(roster, page, statistics, topEarners).size());
+        mockMvc.perform(get(EMPLOYEE_URI + "/salary/statistics").header(HttpHeaders.IF_NONE_MATCH, roster))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldServeChangesSinceReportedVersion() throws Exception {
+        long version = rosterVersion();
+
+        create();
+
+        mockMvc.perform(get(EMPLOYEE_URI + "/changes").param("since", String.valueOf(version)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(MockEmployeeController.ROSTER_VERSION_HEADER, String.valueOf(version + 1)))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].version").value(version + 1))
+                .andExpect(jsonPath("$.data[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.data[0].employee.employee_name").value("Jill Jenkins"));
+    }
+
+    @Test
+    void shouldNumberEveryItemOfABatchCreate() throws Exception {
+        long version = rosterVersion();
+
+        mockMvc.perform(post(EMPLOYEE_URI + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + CREATION_INPUT + ",{\"name\":\"\"}," + CREATION_INPUT + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[1].error").exists());
+
+        mockMvc.perform(get(EMPLOYEE_URI + "/changes").param("since", String.valueOf(version)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].version").value(version + 1))
+                .andExpect(jsonPath("$.data[1].version").value(version + 2));
+    }
+
+    @Test
+    void shouldAnswerGoneForVersionOutsideTheChangeLog() throws Exception {
+        mockMvc.perform(get(EMPLOYEE_URI + "/changes").param("since", "0")).andExpect(status().isGone());
+        mockMvc.perform(get(EMPLOYEE_URI + "/changes").param("since", String.valueOf(rosterVersion() + 1)))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void shouldAnswerGoneForVersionOfAnotherInstance() throws Exception {
+        long version = rosterVersion();
+        String instance = mockMvc.perform(get(EMPLOYEE_URI))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(MockEmployeeController.ROSTER_INSTANCE_HEADER);
+        assertNotNull(instance);
+
+        mockMvc.perform(get(EMPLOYEE_URI + "/changes")
+                        .param("since", String.valueOf(version))
+                        .param("instance", instance))
+                .andExpect(status().isOk())
+                .andExpect(header().string(MockEmployeeController.ROSTER_INSTANCE_HEADER, instance));
+        mockMvc.perform(get(EMPLOYEE_URI + "/changes")
+                        .param("since", String.valueOf(version))
+                        .param("instance", "restarted"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void shouldTellInstancesApartInETag() throws Exception {
+        String instance = mockMvc.perform(get(EMPLOYEE_URI))
+                .andReturn()
+                .getResponse()
+                .getHeader(MockEmployeeController.ROSTER_INSTANCE_HEADER);
+
+        assertTrue(eTag(EMPLOYEE_URI).startsWith("W/\"" + instance + ':' + rosterVersion()));
+    }
+
+    private String eTag(String uri) throws Exception {
+        String eTag = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    private long rosterVersion() throws Exception {
+        return Long.parseLong(mockMvc.perform(get(EMPLOYEE_URI))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(MockEmployeeController.ROSTER_VERSION_HEADER));
+    }
+
+    private void create() throws Exception {
+        mockMvc.perform(post(EMPLOYEE_URI).contentType(MediaType.APPLICATION_JSON).content(CREATION_INPUT))
+                .andExpect(status().isOk());
+    }
+}
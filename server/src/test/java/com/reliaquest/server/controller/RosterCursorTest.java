@@ -0,0 +1,27 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class RosterCursorTest {
+
+    @Test
+    void shouldRoundTripSequences() {
+        for (long sequence : new long[] {0, 1, 41, Long.MAX_VALUE}) {
+            assertEquals(sequence, RosterCursor.decode(RosterCursor.encode(sequence)));
+        }
+    }
+
+    @Test
+    void shouldStartFromTheBeginningWithoutCursor() {
+        assertEquals(RosterCursor.START, RosterCursor.decode(null));
+        assertEquals(RosterCursor.START, RosterCursor.decode(""));
+    }
+
+    @Test
+    void shouldRejectMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> RosterCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> RosterCursor.decode("AAAA"));
+    }
+}
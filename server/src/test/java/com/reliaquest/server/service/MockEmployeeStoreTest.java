@@ -0,0 +1,139 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+    private final MockEmployee alice = employee("Alice Smith", 1200);
+    private final MockEmployee bob = employee("Bob Johnson", 2500);
+    private final MockEmployee charlie = employee("Charlie Brown", 1800);
+    private final MockEmployee diana = employee("Diana Prince", 3000);
+
+    @Test
+    void shouldKeepIdAndNameIndexesInStepWithTheRoster() {
+        MockEmployeeStore store = new MockEmployeeStore(List.of(alice, bob), 100);
+
+        store.add(charlie);
+        assertEquals(Optional.of(charlie), store.findById(charlie.getId()));
+        assertEquals(List.of(alice, bob, charlie), store.snapshot().employees());
+
+        assertEquals(Optional.of(bob), store.removeById(bob.getId()));
+        assertTrue(store.findById(bob.getId()).isEmpty());
+        assertTrue(store.removeByName("Bob Johnson").isEmpty());
+        assertTrue(store.removeById(bob.getId()).isEmpty());
+
+        RosterSnapshot snapshot = store.snapshot();
+        assertEquals(List.of(alice, charlie), snapshot.employees());
+        assertEquals(2, snapshot.salaryStatistics().count());
+        assertEquals(3000, snapshot.salaryStatistics().sum());
+    }
+
+    @Test
+    void shouldRemoveOldestMatchIgnoringCaseWhenDeletingByName() {
+        MockEmployee older = employee("Alice Smith", 1200);
+        MockEmployee newer = employee("ALICE SMITH", 1300);
+        MockEmployeeStore store = new MockEmployeeStore(List.of(older, bob, newer), 100);
+
+        assertEquals(Optional.of(older), store.removeByName("alice smith"));
+        assertEquals(Optional.of(newer), store.removeByName("Alice Smith"));
+        assertTrue(store.removeByName("Alice Smith").isEmpty());
+
+        assertEquals(List.of(bob), store.snapshot().employees());
+        assertTrue(store.findById(older.getId()).isEmpty());
+        assertTrue(store.findById(newer.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldRemoveExactlyThatEmployeeWhenDeletingById() {
+        MockEmployee older = employee("Alice Smith", 1200);
+        MockEmployee newer = employee("Alice Smith", 1300);
+        MockEmployeeStore store = new MockEmployeeStore(List.of(older, newer), 100);
+
+        assertEquals(Optional.of(newer), store.removeById(newer.getId()));
+
+        assertEquals(Optional.of(older), store.removeByName("Alice Smith"));
+        assertTrue(store.snapshot().employees().isEmpty());
+    }
+
+    @Test
+    void shouldGiveEveryChangeOfABatchItsOwnVersion() {
+        MockEmployeeStore store = new MockEmployeeStore(List.of(alice), 100);
+        long before = store.version();
+
+        store.addAll(List.of(bob, charlie));
+
+        assertEquals(before + 2, store.snapshot().version());
+        assertEquals(
+                List.of(
+                        new RosterChange(before + 1, RosterChange.Type.CREATED, bob),
+                        new RosterChange(before + 2, RosterChange.Type.CREATED, charlie)),
+                store.changesSince(before).orElseThrow());
+
+        List<Optional<MockEmployee>> removed = store.removeAllByName(Arrays.asList("Charlie Brown", "Nobody", null));
+
+        assertEquals(List.of(Optional.of(charlie), Optional.empty(), Optional.empty()), removed);
+        assertEquals(before + 3, store.version());
+        assertEquals(
+                List.of(new RosterChange(before + 3, RosterChange.Type.DELETED, charlie)),
+                store.changesSince(before + 2).orElseThrow());
+    }
+
+    @Test
+    void shouldNotBumpVersionWhenNothingChanged() {
+        MockEmployeeStore store = new MockEmployeeStore(List.of(alice), 100);
+        RosterSnapshot snapshot = store.snapshot();
+
+        store.addAll(List.of());
+        store.removeAllByName(List.of("Nobody"));
+        store.removeById(UUID.randomUUID());
+
+        assertSame(snapshot, store.snapshot());
+    }
+
+    @Test
+    void shouldAnswerChangesOnlyWithinTheRetainedLog() {
+        MockEmployeeStore store = new MockEmployeeStore(List.of(alice), 2);
+        long start = store.version();
+        assertEquals(Optional.of(List.of()), store.changesSince(start));
+
+        store.add(bob);
+        store.add(charlie);
+        store.add(diana);
+
+        assertTrue(store.changesSince(start).isEmpty());
+        assertEquals(
+                List.of(
+                        new RosterChange(start + 2, RosterChange.Type.CREATED, charlie),
+                        new RosterChange(start + 3, RosterChange.Type.CREATED, diana)),
+                store.changesSince(start + 1).orElseThrow());
+        assertEquals(Optional.of(List.of()), store.changesSince(start + 3));
+        assertTrue(store.changesSince(start + 4).isEmpty());
+    }
+
+    @Test
+    void shouldBuildOneSnapshotForARunOfWrites() {
+        MockEmployeeStore store = new MockEmployeeStore(List.of(alice), 100);
+        RosterSnapshot before = store.snapshot();
+
+        store.add(bob);
+        store.add(charlie);
+        store.removeByName("Alice Smith");
+
+        RosterSnapshot after = store.snapshot();
+        assertEquals(before.version() + 3, after.version());
+        assertEquals(store.version(), after.version());
+        assertEquals(List.of(bob, charlie), after.employees());
+        assertSame(after, store.snapshot());
+        assertEquals(List.of(alice), before.employees());
+    }
+
+    static MockEmployee employee(String name, Integer salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "QA Engineer", "employee@company.com");
+    }
+}
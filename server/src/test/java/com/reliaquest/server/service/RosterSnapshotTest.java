@@ -0,0 +1,59 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.service.MockEmployeeStoreTest.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RosterSnapshotTest {
+    private final List<MockEmployee> roster = IntStream.range(0, 5)
+            .mapToObj(i -> employee("Employee " + i, 1000 + i))
+            .toList();
+    private final MockEmployeeStore store = new MockEmployeeStore(roster, 100);
+
+    @Test
+    void shouldWalkTheRosterPageByPage() {
+        RosterSnapshot.Page first = store.snapshot().pageAfter(-1, 2);
+        RosterSnapshot.Page second = store.snapshot().pageAfter(first.lastSequence(), 2);
+        RosterSnapshot.Page last = store.snapshot().pageAfter(second.lastSequence(), 2);
+
+        assertEquals(roster.subList(0, 2), first.employees());
+        assertEquals(roster.subList(2, 4), second.employees());
+        assertEquals(roster.subList(4, 5), last.employees());
+        assertNull(last.lastSequence());
+    }
+
+    @Test
+    void shouldNeitherRepeatNorSkipWhenRosterChangesBetweenPages() {
+        List<MockEmployee> seen = new ArrayList<>();
+        RosterSnapshot.Page page = store.snapshot().pageAfter(-1, 2);
+        seen.addAll(page.employees());
+
+        // the last employee of the page, one still ahead and one behind are deleted; one is added at the end
+        store.removeById(roster.get(1).getId());
+        store.removeById(roster.get(2).getId());
+        store.removeById(roster.get(0).getId());
+        MockEmployee added = employee("Employee 5", 2000);
+        store.add(added);
+
+        while (Objects.nonNull(page.lastSequence())) {
+            page = store.snapshot().pageAfter(page.lastSequence(), 2);
+            seen.addAll(page.employees());
+        }
+
+        assertEquals(List.of(roster.get(0), roster.get(1), roster.get(3), roster.get(4), added), seen);
+    }
+
+    @Test
+    void shouldReturnEmptyLastPageAfterTheEnd() {
+        RosterSnapshot.Page page = store.snapshot().pageAfter(Long.MAX_VALUE, 2);
+
+        assertTrue(page.employees().isEmpty());
+        assertNull(page.lastSequence());
+    }
+}
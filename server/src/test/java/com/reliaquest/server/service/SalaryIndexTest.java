@@ -0,0 +1,73 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.service.MockEmployeeStoreTest.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+
+    @Test
+    void shouldKeepCountSumAndMaxAcrossAddsAndRemoves() {
+        MockEmployee alice = employee("Alice Smith", 1200);
+        MockEmployee bob = employee("Bob Johnson", 2500);
+        salaryIndex.add(0, alice);
+        salaryIndex.add(1, bob);
+        salaryIndex.add(2, employee("No Salary", null));
+
+        SalaryStatistics statistics = salaryIndex.statistics();
+        assertEquals(2, statistics.count());
+        assertEquals(3700, statistics.sum());
+        assertEquals(2500, statistics.max());
+
+        salaryIndex.remove(1, bob);
+        salaryIndex.remove(1, bob);
+
+        statistics = salaryIndex.statistics();
+        assertEquals(1, statistics.count());
+        assertEquals(1200, statistics.sum());
+        assertEquals(1200, statistics.max());
+    }
+
+    @Test
+    void shouldRankTopEarnersBySalaryThenRosterOrder() {
+        MockEmployee first = employee("First Tie", 2000);
+        MockEmployee highest = employee("Highest", 3000);
+        MockEmployee second = employee("Second Tie", 2000);
+        MockEmployee lowest = employee("Lowest", 1000);
+        salaryIndex.add(0, first);
+        salaryIndex.add(1, highest);
+        salaryIndex.add(2, second);
+        salaryIndex.add(3, lowest);
+
+        SalaryStatistics statistics = salaryIndex.statistics();
+
+        assertEquals(List.of(highest, first, second), statistics.topEarners(3));
+        assertEquals(List.of(highest, first, second, lowest), statistics.topEarners(10));
+    }
+
+    @Test
+    void shouldKeepAtMostMaxTopEarners() {
+        for (int i = 0; i < SalaryStatistics.MAX_TOP_EARNERS + 5; i++) {
+            salaryIndex.add(i, employee("Employee " + i, 1000 + i));
+        }
+
+        SalaryStatistics statistics = salaryIndex.statistics();
+
+        assertEquals(SalaryStatistics.MAX_TOP_EARNERS + 5, statistics.count());
+        assertEquals(SalaryStatistics.MAX_TOP_EARNERS, statistics.topEarners().size());
+        assertEquals(1000 + SalaryStatistics.MAX_TOP_EARNERS + 4, statistics.topEarners().get(0).getSalary());
+    }
+
+    @Test
+    void shouldReportNoMaxWhenEmpty() {
+        SalaryStatistics statistics = salaryIndex.statistics();
+
+        assertEquals(0, statistics.count());
+        assertNull(statistics.max());
+        assertTrue(statistics.topEarners().isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+
+    @Test
+    void shouldNotOvershootLimitUnderConcurrentBurst() throws Exception {
+        SlidingWindowRateLimiter rateLimiter = new SlidingWindowRateLimiter(50, 1_000, 1_000);
+        AtomicInteger allowed = new AtomicInteger();
+
+        concurrently(16, thread -> {
+            for (int i = 0; i < 100; i++) {
+                if (rateLimiter.tryAcquire("client", 0).allowed()) {
+                    allowed.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(50, allowed.get());
+    }
+
+    @Test
+    void shouldWeightPreviousWindowByRemainingOverlap() {
+        SlidingWindowRateLimiter rateLimiter = new SlidingWindowRateLimiter(10, 100, 1_000);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(rateLimiter.tryAcquire("client", i).allowed());
+        }
+
+        // halfway into the next window, half of the previous window's 8 requests still count
+        assertEquals(5, rateLimiter.tryAcquire("client", 150).remaining());
+        int allowed = 1;
+        while (rateLimiter.tryAcquire("client", 150).allowed()) {
+            allowed++;
+        }
+
+        assertEquals(6, allowed);
+    }
+
+    @Test
+    void shouldRejectUntilBackoffHasPassed() {
+        SlidingWindowRateLimiter rateLimiter = new SlidingWindowRateLimiter(2, 1_000, 500);
+        rateLimiter.tryAcquire("client", 0);
+        rateLimiter.tryAcquire("client", 0);
+
+        SlidingWindowRateLimiter.Decision rejected = rateLimiter.tryAcquire("client", 1);
+        assertFalse(rejected.allowed());
+        assertEquals(500, rejected.retryAfterNanos());
+        assertEquals(201, rateLimiter.tryAcquire("client", 300).retryAfterNanos());
+
+        SlidingWindowRateLimiter.Decision afterBackoff = rateLimiter.tryAcquire("client", 501);
+        assertTrue(afterBackoff.allowed());
+        assertEquals(1, afterBackoff.remaining());
+    }
+
+    @Test
+    void shouldLimitEachClientIndependently() {
+        SlidingWindowRateLimiter rateLimiter = new SlidingWindowRateLimiter(1, 1_000, 1_000);
+
+        assertTrue(rateLimiter.tryAcquire("first", 0).allowed());
+        assertFalse(rateLimiter.tryAcquire("first", 0).allowed());
+        assertTrue(rateLimiter.tryAcquire("second", 0).allowed());
+    }
+
+    @Test
+    void shouldSweepOnlyIdleClients() {
+        SlidingWindowRateLimiter rateLimiter = new SlidingWindowRateLimiter(1, 100, 1_000);
+        rateLimiter.tryAcquire("blocked", 0);
+        rateLimiter.tryAcquire("blocked", 0);
+        for (int i = 0; i < SlidingWindowRateLimiter.MAX_TRACKED_CLIENTS - 2; i++) {
+            rateLimiter.tryAcquire("idle-" + i, 0);
+        }
+        rateLimiter.tryAcquire("live", 250);
+        assertEquals(SlidingWindowRateLimiter.MAX_TRACKED_CLIENTS, rateLimiter.trackedClients());
+
+        rateLimiter.tryAcquire("newcomer", 250);
+
+        assertEquals(3, rateLimiter.trackedClients());
+        assertFalse(rateLimiter.tryAcquire("blocked", 250).allowed());
+        assertFalse(rateLimiter.tryAcquire("live", 250).allowed());
+        assertTrue(rateLimiter.tryAcquire("idle-0", 250).allowed());
+    }
+
+    @Test
+    void shouldSweepAtMostOncePerWindow() {
+        SlidingWindowRateLimiter rateLimiter = new SlidingWindowRateLimiter(1, 100, 1_000);
+        for (int i = 0; i <= SlidingWindowRateLimiter.MAX_TRACKED_CLIENTS; i++) {
+            rateLimiter.tryAcquire("early-" + i, 0);
+        }
+        // swept at 150, while every client is still live
+        rateLimiter.tryAcquire("newcomer-150", 150);
+        assertEquals(SlidingWindowRateLimiter.MAX_TRACKED_CLIENTS + 2, rateLimiter.trackedClients());
+
+        for (int i = 0; i < 5_000; i++) {
+            rateLimiter.tryAcquire("newcomer-210-" + i, 210);
+        }
+
+        // the early clients turned idle at 200, but the next sweep waits for 250
+        assertEquals(SlidingWindowRateLimiter.MAX_TRACKED_CLIENTS + 5_002, rateLimiter.trackedClients());
+        rateLimiter.tryAcquire("newcomer-250", 250);
+        assertEquals(5_002, rateLimiter.trackedClients());
+    }
+
+    @Test
+    void shouldNotLoseRequestsOfAClientSweptConcurrently() throws Exception {
+        for (int round = 0; round < 100; round++) {
+            SlidingWindowRateLimiter rateLimiter = new SlidingWindowRateLimiter(5, 100, 1_000);
+            for (int i = 0; i < SlidingWindowRateLimiter.MAX_TRACKED_CLIENTS; i++) {
+                rateLimiter.tryAcquire("idle-" + i, 0);
+            }
+            AtomicInteger allowed = new AtomicInteger();
+
+            concurrently(4, thread -> {
+                if (thread == 0) {
+                    rateLimiter.tryAcquire("newcomer", 1_000);
+                    return;
+                }
+                for (int i = 0; i < 5; i++) {
+                    if (rateLimiter.tryAcquire("idle-0", 1_000).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+
+            assertEquals(5, allowed.get(), "round " + round);
+        }
+    }
+
+    private static void concurrently(int threads, IntConsumer task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.accept(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}